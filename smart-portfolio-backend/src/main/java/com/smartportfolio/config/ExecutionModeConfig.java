@@ -0,0 +1,60 @@
+package com.smartportfolio.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * server.execution-mode=virtual olduğunda Tomcat istekleri her istek için ayrı bir
+ * virtual thread üzerinde işlenir. JDBC, Redis, MinIO ve Groq çağrıları bu thread
+ * üzerinde bloklandığından servis katmanındaki I/O da virtual thread'de çalışır.
+ * Proje Java 17 ile derlenir; virtual thread'ler yalnızca uygulama Java 21+ üzerinde
+ * çalışıyorsa kullanılır, aksi halde platform thread havuzu korunur.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.execution-mode", havingValue = "virtual")
+@Slf4j
+public class ExecutionModeConfig {
+
+    private ExecutorService virtualThreadExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = createVirtualThreadExecutor();
+        virtualThreadExecutor = executor;
+        if (executor == null) {
+            return protocolHandler -> { };
+        }
+        log.info("Tomcat istekleri virtual thread'ler üzerinde işlenecek");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Tomcat dışarıdan verilen executor'ı kapatmaz; bağlantılar durdurulduktan sonra burada kapatılır
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Java 21 API'si; Java 17 ile derlenebilmesi için reflection ile çağrılır
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual thread desteği yok (Java {}), platform thread havuzu kullanılacak",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+}
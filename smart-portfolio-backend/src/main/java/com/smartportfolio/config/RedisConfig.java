@@ -1,9 +1,16 @@
 package com.smartportfolio.config;
 
+import com.smartportfolio.security.UserPrincipalCache;
+import com.smartportfolio.service.SearchIndex;
+import com.smartportfolio.service.SuggestionIndex;
+import com.smartportfolio.service.TokenBlacklistNearCache;
+import com.smartportfolio.service.TwoTierCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -26,6 +33,29 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TokenBlacklistNearCache blacklistNearCache,
+                                                                       TwoTierCache twoTierCache,
+                                                                       SearchIndex searchIndex,
+                                                                       SuggestionIndex suggestionIndex,
+                                                                       UserPrincipalCache userPrincipalCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        
+        // Blacklist olaylarını tüm node'lara dağıt
+        container.addMessageListener(blacklistNearCache, new ChannelTopic(TokenBlacklistNearCache.CHANNEL));
+        // Önbellek düşürme olaylarıyla diğer node'ların L1 önbelleğini temizle
+        container.addMessageListener(twoTierCache, new ChannelTopic(TwoTierCache.CHANNEL));
+        // Arama dizini güncellemelerini diğer node'lara dağıt
+        container.addMessageListener(searchIndex, new ChannelTopic(SearchIndex.CHANNEL));
+        // Otomatik tamamlama dizini güncellemelerini diğer node'lara dağıt
+        container.addMessageListener(suggestionIndex, new ChannelTopic(SuggestionIndex.CHANNEL));
+        // Kullanıcı/rol değişikliklerinde diğer node'ların UserPrincipal önbelleğini temizle
+        container.addMessageListener(userPrincipalCache, new ChannelTopic(UserPrincipalCache.CHANNEL));
+        return container;
+    }
 }
 
 
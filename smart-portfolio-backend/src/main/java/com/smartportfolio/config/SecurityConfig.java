@@ -1,20 +1,26 @@
 package com.smartportfolio.config;
 
+import com.smartportfolio.security.BoundedPasswordEncoder;
 import com.smartportfolio.security.CustomUserDetailsService;
 import com.smartportfolio.security.JwtAuthenticationEntryPoint;
 import com.smartportfolio.security.JwtAuthenticationFilter;
+import com.smartportfolio.security.LoginAttemptLimiter;
+import com.smartportfolio.security.RateLimitFilter;
+import com.smartportfolio.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -31,17 +37,35 @@ public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final RateLimitFilter rateLimitFilter;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider() {
+            @Override
+            protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                          UsernamePasswordAuthenticationToken authentication) {
+                try {
+                    super.additionalAuthenticationChecks(userDetails, authentication);
+                } catch (BadCredentialsException e) {
+                    loginAttemptLimiter.recordFailure(((UserPrincipal) userDetails).getId());
+                    throw e;
+                }
+            }
+        };
+        // Hesap başına limit şifre doğrulamasından önce, kullanıcı ID'si çözüldükten sonra kontrol edilir
+        AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+        authProvider.setPreAuthenticationChecks(user -> {
+            accountStatusChecker.check(user);
+            loginAttemptLimiter.checkNotLocked(((UserPrincipal) user).getId());
+        });
+        authProvider.setPostAuthenticationChecks(user -> loginAttemptLimiter.reset(((UserPrincipal) user).getId()));
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Başarılı girişte eski cost ile üretilmiş hash'ler yenilenir
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
@@ -73,13 +97,15 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         // Public endpoints (read-only)
                         .requestMatchers("GET", "/projects/**").permitAll()
                         .requestMatchers("GET", "/blogs/**").permitAll()
                         .requestMatchers("GET", "/skills/**").permitAll()
                         .requestMatchers("GET", "/languages/**").permitAll()
+                        .requestMatchers("GET", "/search/**").permitAll()
                         // File endpoints
                         .requestMatchers("GET", "/files/**").permitAll()
                         .requestMatchers("POST", "/files/upload").hasRole("ADMIN")
@@ -97,6 +123,8 @@ public class SecurityConfig {
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Kullanıcı bazlı limitler için kimlik doğrulamadan sonra çalışır
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
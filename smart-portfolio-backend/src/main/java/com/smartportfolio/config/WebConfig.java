@@ -0,0 +1,18 @@
+package com.smartportfolio.config;
+
+import com.smartportfolio.service.Pagination;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.config.PageableHandlerMethodArgumentResolverCustomizer;
+
+@Configuration
+public class WebConfig {
+
+    /**
+     * Sayfalı (/paged) ve imleçli (/scroll) listeler aynı sayfa boyutu sınırını kullanır
+     */
+    @Bean
+    public PageableHandlerMethodArgumentResolverCustomizer pageableCustomizer() {
+        return resolver -> resolver.setMaxPageSize(Pagination.MAX_PAGE_SIZE);
+    }
+}
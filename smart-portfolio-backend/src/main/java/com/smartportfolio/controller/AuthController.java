@@ -1,6 +1,7 @@
 package com.smartportfolio.controller;
 
 import com.smartportfolio.dto.*;
+import com.smartportfolio.security.VerifiedToken;
 import com.smartportfolio.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -33,8 +36,10 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
             @Parameter(description = "Kullanıcı kayıt bilgileri", required = true)
-            @Valid @RequestBody RegisterRequest registerRequest) {
-        AuthResponse response = authService.register(registerRequest);
+            @Valid @RequestBody RegisterRequest registerRequest,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+        AuthResponse response = authService.register(registerRequest, userAgent);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -48,8 +53,10 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
             @Parameter(description = "Giriş bilgileri", required = true)
-            @Valid @RequestBody LoginRequest loginRequest) {
-        AuthResponse response = authService.login(loginRequest);
+            @Valid @RequestBody LoginRequest loginRequest,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+        AuthResponse response = authService.login(loginRequest, userAgent);
         return ResponseEntity.ok(response);
     }
 
@@ -62,10 +69,9 @@ public class AuthController {
     })
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser(
-            @Parameter(description = "JWT Bearer token", required = true)
-            @RequestHeader("Authorization") String token) {
-        String jwtToken = token.replace("Bearer ", "");
-        UserDto userDto = authService.getCurrentUser(jwtToken);
+            @Parameter(hidden = true)
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false) VerifiedToken token) {
+        UserDto userDto = authService.getCurrentUser(token);
         return ResponseEntity.ok(userDto);
     }
 
@@ -78,11 +84,10 @@ public class AuthController {
     })
     @PostMapping("/logout")
     public ResponseEntity<MessageResponse> logout(
-            @Parameter(description = "JWT Bearer token", required = true)
-            @RequestHeader("Authorization") String authHeader,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false) VerifiedToken accessToken,
             @Parameter(description = "Çıkış isteği (opsiyonel)")
             @RequestBody(required = false) LogoutRequest logoutRequest) {
-        String accessToken = authHeader.replace("Bearer ", "");
         String refreshToken = (logoutRequest != null && logoutRequest.getRefreshToken() != null) 
                 ? logoutRequest.getRefreshToken() 
                 : null;
@@ -105,5 +110,45 @@ public class AuthController {
         AuthResponse response = authService.refreshToken(refreshTokenRequest.getRefreshToken());
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "Aktif oturumlar", description = "Kullanıcının açık cihaz oturumlarını listeler")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oturumlar getirildi"),
+            @ApiResponse(responseCode = "401", description = "Geçersiz token")
+    })
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionDto>> getSessions(
+            @Parameter(hidden = true)
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false) VerifiedToken token) {
+        return ResponseEntity.ok(authService.getSessions(token));
+    }
+
+    @Operation(summary = "Oturumu sonlandır", description = "Tek bir cihaz oturumunu sonlandırır")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Oturum sonlandırıldı",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Geçersiz token"),
+            @ApiResponse(responseCode = "404", description = "Oturum bulunamadı")
+    })
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<MessageResponse> revokeSession(
+            @Parameter(hidden = true)
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false) VerifiedToken token,
+            @Parameter(description = "Oturum ID", required = true)
+            @PathVariable String sessionId) {
+        return ResponseEntity.ok(authService.revokeSession(token, sessionId));
+    }
+
+    @Operation(summary = "Tüm oturumları sonlandır", description = "Kullanıcının tüm cihaz oturumlarını sonlandırır")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tüm oturumlar sonlandırıldı",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Geçersiz token")
+    })
+    @DeleteMapping("/sessions")
+    public ResponseEntity<MessageResponse> revokeAllSessions(
+            @Parameter(hidden = true)
+            @RequestAttribute(name = VerifiedToken.REQUEST_ATTRIBUTE, required = false) VerifiedToken token) {
+        return ResponseEntity.ok(authService.revokeAllSessions(token));
+    }
+}
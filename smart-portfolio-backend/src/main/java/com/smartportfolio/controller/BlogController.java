@@ -2,15 +2,20 @@ package com.smartportfolio.controller;
 
 import com.smartportfolio.dto.*;
 import com.smartportfolio.service.BlogService;
+import com.smartportfolio.service.JsonResponseCache;
+import com.smartportfolio.service.Pagination;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -19,11 +24,15 @@ import java.util.List;
 public class BlogController {
 
     private final BlogService blogService;
+    private final JsonResponseCache responseCache;
+
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
 
     @GetMapping
-    public ResponseEntity<List<BlogDto>> getAllPublishedBlogs() {
-        List<BlogDto> blogs = blogService.getAllPublishedBlogs();
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<byte[]> getAllPublishedBlogs(
+            HttpServletRequest request) {
+        return responseCache.respond(BlogService.CACHE_PUBLISHED, request, LIST_CACHE_CONTROL,
+                blogService::getAllPublishedBlogs);
     }
 
     @GetMapping("/admin/all")
@@ -32,23 +41,31 @@ public class BlogController {
         return ResponseEntity.ok(blogs);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<BlogSummaryDto>> scrollPublishedBlogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<BlogSummaryDto> blogs = blogService.scrollPublishedBlogs(cursor, Pagination.clampSize(size));
+        return ResponseEntity.ok(blogs);
+    }
+
     @GetMapping("/paged")
-    public ResponseEntity<Page<BlogDto>> getAllPublishedBlogs(Pageable pageable) {
-        Page<BlogDto> blogs = blogService.getAllPublishedBlogs(pageable);
+    public ResponseEntity<Page<BlogSummaryDto>> getAllPublishedBlogs(Pageable pageable) {
+        Page<BlogSummaryDto> blogs = blogService.getAllPublishedBlogs(pageable);
         return ResponseEntity.ok(blogs);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<BlogDto>> searchBlogs(
+    public ResponseEntity<Page<BlogSummaryDto>> searchBlogs(
             @RequestParam String keyword,
             Pageable pageable) {
-        Page<BlogDto> blogs = blogService.searchBlogs(keyword, pageable);
+        Page<BlogSummaryDto> blogs = blogService.searchBlogs(keyword, pageable);
         return ResponseEntity.ok(blogs);
     }
 
     @GetMapping("/top")
-    public ResponseEntity<List<BlogDto>> getTopBlogsByViews(Pageable pageable) {
-        List<BlogDto> blogs = blogService.getTopBlogsByViews(pageable);
+    public ResponseEntity<List<BlogSummaryDto>> getTopBlogsByViews(Pageable pageable) {
+        List<BlogSummaryDto> blogs = blogService.getTopBlogsByViews(pageable);
         return ResponseEntity.ok(blogs);
     }
 
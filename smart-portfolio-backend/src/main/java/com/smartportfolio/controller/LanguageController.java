@@ -1,14 +1,18 @@
 package com.smartportfolio.controller;
 
 import com.smartportfolio.dto.*;
+import com.smartportfolio.service.JsonResponseCache;
 import com.smartportfolio.service.LanguageService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -17,11 +21,16 @@ import java.util.List;
 public class LanguageController {
 
     private final LanguageService languageService;
+    private final JsonResponseCache responseCache;
+
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl DETAIL_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
 
     @GetMapping
-    public ResponseEntity<List<LanguageDto>> getAllLanguages() {
-        List<LanguageDto> languages = languageService.getAllLanguages();
-        return ResponseEntity.ok(languages);
+    public ResponseEntity<byte[]> getAllLanguages(
+            HttpServletRequest request) {
+        return responseCache.respond(LanguageService.CACHE_ALL, request, LIST_CACHE_CONTROL,
+                languageService::getAllLanguages);
     }
 
     @GetMapping("/search")
@@ -31,9 +40,11 @@ public class LanguageController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LanguageDto> getLanguageById(@PathVariable Long id) {
-        LanguageDto language = languageService.getLanguageById(id);
-        return ResponseEntity.ok(language);
+    public ResponseEntity<byte[]> getLanguageById(
+            @PathVariable Long id,
+            HttpServletRequest request) {
+        return responseCache.respond(LanguageService.cacheKey(id), request, DETAIL_CACHE_CONTROL,
+                () -> languageService.getLanguageById(id));
     }
 
     @GetMapping("/code/{code}")
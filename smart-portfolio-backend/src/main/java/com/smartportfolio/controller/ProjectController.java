@@ -1,6 +1,8 @@
 package com.smartportfolio.controller;
 
 import com.smartportfolio.dto.*;
+import com.smartportfolio.service.JsonResponseCache;
+import com.smartportfolio.service.Pagination;
 import com.smartportfolio.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,16 +11,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/projects")
@@ -27,15 +31,35 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final JsonResponseCache responseCache;
+
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+    private static final CacheControl DETAIL_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
 
     @Operation(summary = "Tüm projeleri listele", description = "Aktif tüm projeleri getirir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeler başarıyla getirildi",
-                    content = @Content(schema = @Schema(implementation = ProjectDto.class)))
+                    content = @Content(schema = @Schema(implementation = ProjectDto.class))),
+            @ApiResponse(responseCode = "304", description = "İstemcideki kopya güncel")
     })
     @GetMapping
-    public ResponseEntity<List<ProjectDto>> getAllProjects() {
-        List<ProjectDto> projects = projectService.getAllProjects();
+    public ResponseEntity<byte[]> getAllProjects(
+            HttpServletRequest request) {
+        return responseCache.respond(ProjectService.CACHE_ALL, request, LIST_CACHE_CONTROL,
+                projectService::getAllProjects);
+    }
+
+    @Operation(summary = "İmleçli proje listesi", description = "Projeleri imleç ile sayfa sayfa getirir")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projeler başarıyla getirildi",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ProjectDto>> scrollProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ProjectDto> projects = projectService.scrollProjects(cursor, Pagination.clampSize(size));
         return ResponseEntity.ok(projects);
     }
 
@@ -53,12 +77,14 @@ public class ProjectController {
     @Operation(summary = "Öne çıkan projeler", description = "Öne çıkan projeleri getirir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Öne çıkan projeler getirildi",
-                    content = @Content(schema = @Schema(implementation = ProjectDto.class)))
+                    content = @Content(schema = @Schema(implementation = ProjectDto.class))),
+            @ApiResponse(responseCode = "304", description = "İstemcideki kopya güncel")
     })
     @GetMapping("/featured")
-    public ResponseEntity<List<ProjectDto>> getFeaturedProjects() {
-        List<ProjectDto> projects = projectService.getFeaturedProjects();
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<byte[]> getFeaturedProjects(
+            HttpServletRequest request) {
+        return responseCache.respond(ProjectService.CACHE_FEATURED, request, LIST_CACHE_CONTROL,
+                projectService::getFeaturedProjects);
     }
 
     @Operation(summary = "Proje arama", description = "Anahtar kelime ile proje arar")
@@ -79,14 +105,16 @@ public class ProjectController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Proje detayı getirildi",
                     content = @Content(schema = @Schema(implementation = ProjectDto.class))),
+            @ApiResponse(responseCode = "304", description = "İstemcideki kopya güncel"),
             @ApiResponse(responseCode = "404", description = "Proje bulunamadı")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDto> getProjectById(
+    public ResponseEntity<byte[]> getProjectById(
             @Parameter(description = "Proje ID'si", required = true)
-            @PathVariable Long id) {
-        ProjectDto project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+            @PathVariable Long id,
+            HttpServletRequest request) {
+        return responseCache.respond(ProjectService.cacheKey(id), request, DETAIL_CACHE_CONTROL,
+                () -> projectService.getProjectById(id));
     }
 
     @Operation(summary = "Proje oluştur", description = "Yeni proje oluşturur (ADMIN)")
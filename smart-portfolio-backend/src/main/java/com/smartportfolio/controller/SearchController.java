@@ -0,0 +1,58 @@
+package com.smartportfolio.controller;
+
+import com.smartportfolio.dto.SearchResultDto;
+import com.smartportfolio.dto.SuggestionDto;
+import com.smartportfolio.service.SearchIndex;
+import com.smartportfolio.service.SuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+
+    @Value("${search.max-results:50}")
+    private int maxResults;
+
+    @Value("${search.suggest.max-results:20}")
+    private int maxSuggestions;
+
+    /**
+     * Bloglar, projeler ve yeteneklerde puana göre sıralı arama
+     *
+     * @param types virgülle ayrılmış içerik türleri (blog, project, skill); boşsa tümü
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResultDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<String> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<SearchResultDto> results = searchIndex.search(q, types != null ? types : Set.of(),
+                Math.max(1, Math.min(limit, maxResults)));
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Yetenek ve dillerde önek ile otomatik tamamlama
+     *
+     * @param type skill veya language; boşsa ikisi birden
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionDto> suggestions = suggestionIndex.suggest(q, type,
+                Math.max(1, Math.min(limit, maxSuggestions)));
+        return ResponseEntity.ok(suggestions);
+    }
+}
@@ -1,14 +1,18 @@
 package com.smartportfolio.controller;
 
 import com.smartportfolio.dto.*;
+import com.smartportfolio.service.JsonResponseCache;
 import com.smartportfolio.service.SkillService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -17,11 +21,16 @@ import java.util.List;
 public class SkillController {
 
     private final SkillService skillService;
+    private final JsonResponseCache responseCache;
+
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl DETAIL_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
 
     @GetMapping
-    public ResponseEntity<List<SkillDto>> getAllSkills() {
-        List<SkillDto> skills = skillService.getAllSkills();
-        return ResponseEntity.ok(skills);
+    public ResponseEntity<byte[]> getAllSkills(
+            HttpServletRequest request) {
+        return responseCache.respond(SkillService.CACHE_ALL, request, LIST_CACHE_CONTROL,
+                skillService::getAllSkills);
     }
 
     @GetMapping("/level/{level}")
@@ -37,9 +46,11 @@ public class SkillController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SkillDto> getSkillById(@PathVariable Long id) {
-        SkillDto skill = skillService.getSkillById(id);
-        return ResponseEntity.ok(skill);
+    public ResponseEntity<byte[]> getSkillById(
+            @PathVariable Long id,
+            HttpServletRequest request) {
+        return responseCache.respond(SkillService.cacheKey(id), request, DETAIL_CACHE_CONTROL,
+                () -> skillService.getSkillById(id));
     }
 
     @GetMapping("/name/{name}")
@@ -1,6 +1,8 @@
 package com.smartportfolio.controller;
 
+import com.smartportfolio.dto.CursorPage;
 import com.smartportfolio.dto.UserDto;
+import com.smartportfolio.service.Pagination;
 import com.smartportfolio.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,6 +27,15 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserDto> users = userService.scrollUsers(cursor, Pagination.clampSize(size));
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/paged")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<UserDto>> getAllUsers(Pageable pageable) {
@@ -0,0 +1,26 @@
+package com.smartportfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Blog listeleri için içerik (content) alanı olmadan özet görünüm
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogSummaryDto {
+
+    private Long id;
+    private String title;
+    private String summary;
+    private String imageUrl;
+    private Long viewCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
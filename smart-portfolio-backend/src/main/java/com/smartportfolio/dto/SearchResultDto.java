@@ -0,0 +1,19 @@
+package com.smartportfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDto {
+
+    private String type;
+    private Long id;
+    private String title;
+    private String snippet;
+    private double score;
+}
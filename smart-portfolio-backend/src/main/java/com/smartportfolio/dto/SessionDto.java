@@ -0,0 +1,32 @@
+package com.smartportfolio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cihaz oturumu")
+public class SessionDto {
+
+    @Schema(description = "Oturum ID'si", example = "3f2b6c1e-8a4d-4b7e-9c0f-2d5e8a1b7c3d")
+    private String sessionId;
+
+    @Schema(description = "Oturumu açan istemcinin User-Agent bilgisi")
+    private String userAgent;
+
+    @Schema(description = "Oturumun açıldığı zaman")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Refresh token'ın geçerlilik bitişi")
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "İsteği yapan oturum ise true")
+    private Boolean current;
+}
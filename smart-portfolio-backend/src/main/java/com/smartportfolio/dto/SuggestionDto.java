@@ -0,0 +1,18 @@
+package com.smartportfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+
+    private String type;
+    private Long id;
+    private String label;
+    private String detail;
+}
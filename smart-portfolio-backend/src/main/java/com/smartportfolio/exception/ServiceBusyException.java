@@ -0,0 +1,14 @@
+package com.smartportfolio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(long retryAfterSeconds) {
+        super("Sunucu şu anda yoğun, lütfen daha sonra tekrar deneyin");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
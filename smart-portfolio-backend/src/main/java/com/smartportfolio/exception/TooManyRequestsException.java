@@ -0,0 +1,14 @@
+package com.smartportfolio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super("İstek limiti aşıldı, lütfen daha sonra tekrar deneyin");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
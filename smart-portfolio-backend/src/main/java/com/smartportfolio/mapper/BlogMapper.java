@@ -0,0 +1,23 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.BlogDto;
+import com.smartportfolio.model.Blog;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BlogMapper {
+
+    public BlogDto toDto(Blog blog) {
+        return BlogDto.builder()
+                .id(blog.getId())
+                .title(blog.getTitle())
+                .content(blog.getContent())
+                .summary(blog.getSummary())
+                .imageUrl(blog.getImageUrl())
+                .isPublished(blog.getIsPublished())
+                .viewCount(blog.getViewCount())
+                .createdAt(blog.getCreatedAt())
+                .updatedAt(blog.getUpdatedAt())
+                .build();
+    }
+}
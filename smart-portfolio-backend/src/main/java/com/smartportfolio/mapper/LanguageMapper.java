@@ -0,0 +1,21 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.LanguageDto;
+import com.smartportfolio.model.Language;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LanguageMapper {
+
+    public LanguageDto toDto(Language language) {
+        return LanguageDto.builder()
+                .id(language.getId())
+                .code(language.getCode())
+                .name(language.getName())
+                .isActive(language.getIsActive())
+                .isDefault(language.getIsDefault())
+                .createdAt(language.getCreatedAt())
+                .updatedAt(language.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.ProjectDto;
+import com.smartportfolio.model.Project;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProjectMapper {
+
+    public ProjectDto toDto(Project project) {
+        return ProjectDto.builder()
+                .id(project.getId())
+                .title(project.getTitle())
+                .description(project.getDescription())
+                .imageUrl(project.getImageUrl())
+                .githubUrl(project.getGithubUrl())
+                .demoUrl(project.getDemoUrl())
+                .isActive(project.getIsActive())
+                .isFeatured(project.getIsFeatured())
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .build();
+    }
+}
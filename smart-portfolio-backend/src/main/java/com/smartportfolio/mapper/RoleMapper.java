@@ -0,0 +1,68 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.PermissionDto;
+import com.smartportfolio.dto.RoleDto;
+import com.smartportfolio.model.Permission;
+import com.smartportfolio.model.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+public class RoleMapper {
+
+    public RoleDto toDto(Role role) {
+        return RoleDto.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .permissions(toPermissionDtos(role.getPermissions()))
+                .createdAt(role.getCreatedAt())
+                .updatedAt(role.getUpdatedAt())
+                .build();
+    }
+
+    public PermissionDto toDto(Permission permission) {
+        return PermissionDto.builder()
+                .id(permission.getId())
+                .name(permission.getName())
+                .description(permission.getDescription())
+                .createdAt(permission.getCreatedAt())
+                .updatedAt(permission.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Yeni rol entity'si oluşturur. ID ve zaman damgaları veritabanında atanır;
+     * izinler mevcut kayıtlara ID ile referans verir.
+     */
+    public Role toEntity(RoleDto roleDto) {
+        Set<Permission> permissions = new HashSet<>();
+        if (roleDto.getPermissions() != null) {
+            for (PermissionDto permissionDto : roleDto.getPermissions()) {
+                permissions.add(Permission.builder()
+                        .id(permissionDto.getId())
+                        .name(permissionDto.getName())
+                        .description(permissionDto.getDescription())
+                        .build());
+            }
+        }
+        return Role.builder()
+                .name(roleDto.getName())
+                .description(roleDto.getDescription())
+                .permissions(permissions)
+                .build();
+    }
+
+    private Set<PermissionDto> toPermissionDtos(Set<Permission> permissions) {
+        if (permissions == null) {
+            return null;
+        }
+        Set<PermissionDto> dtos = new HashSet<>(permissions.size() * 2);
+        for (Permission permission : permissions) {
+            dtos.add(toDto(permission));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.SkillDto;
+import com.smartportfolio.model.Skill;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SkillMapper {
+
+    public SkillDto toDto(Skill skill) {
+        return SkillDto.builder()
+                .id(skill.getId())
+                .name(skill.getName())
+                .level(skill.getLevel())
+                .category(skill.getCategory())
+                .iconUrl(skill.getIconUrl())
+                .isActive(skill.getIsActive())
+                .sortOrder(skill.getSortOrder())
+                .createdAt(skill.getCreatedAt())
+                .updatedAt(skill.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.RoleDto;
+import com.smartportfolio.dto.UserDto;
+import com.smartportfolio.model.Role;
+import com.smartportfolio.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class UserMapper {
+
+    private final RoleMapper roleMapper;
+
+    public UserDto toDto(User user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .phoneNumber(user.getPhoneNumber())
+                .isActive(user.getIsActive())
+                .isEmailVerified(user.getIsEmailVerified())
+                .lastLogin(user.getLastLogin())
+                .roles(toRoleDtos(user.getRoles()))
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    private Set<RoleDto> toRoleDtos(Set<Role> roles) {
+        if (roles == null) {
+            return null;
+        }
+        Set<RoleDto> dtos = new HashSet<>(roles.size() * 2);
+        for (Role role : roles) {
+            dtos.add(roleMapper.toDto(role));
+        }
+        return dtos;
+    }
+}
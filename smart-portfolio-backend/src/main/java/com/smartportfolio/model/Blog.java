@@ -36,8 +36,9 @@ public class Blog extends BaseEntity {
     @Column(name = "is_published", nullable = false)
     private Boolean isPublished = false;
 
+    // Artışlar ViewCountBuffer üzerinden toplu yazılır; entity güncellemesi eski değeri yazmamalı
     @Builder.Default
-    @Column(name = "view_count", nullable = false)
+    @Column(name = "view_count", nullable = false, updatable = false)
     private Long viewCount = 0L;
 }
 
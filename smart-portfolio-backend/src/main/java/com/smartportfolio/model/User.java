@@ -49,6 +49,11 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    // Yalnızca AuthzVersionService tarafından atomik olarak artırılır
+    @Column(name = "authz_version", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long authzVersion = 0L;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_roles",
@@ -1,5 +1,6 @@
 package com.smartportfolio.repository;
 
+import com.smartportfolio.dto.BlogSummaryDto;
 import com.smartportfolio.model.Blog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,28 +9,39 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
     
-    List<Blog> findByIsPublishedTrueOrderByCreatedAtDesc();
+    // Liste sorguları yalnızca özet sütunlarını seçer; content sütunu okunmaz
+    String SUMMARY_SELECT = "SELECT new com.smartportfolio.dto.BlogSummaryDto(" +
+            "b.id, b.title, b.summary, b.imageUrl, b.viewCount, b.createdAt, b.updatedAt) FROM Blog b ";
+    
+    @Query(SUMMARY_SELECT + "WHERE b.isPublished = true ORDER BY b.createdAt DESC")
+    List<BlogSummaryDto> findPublishedSummaries();
     
     List<Blog> findAllByOrderByCreatedAtDesc();
     
-    Page<Blog> findByIsPublishedTrueOrderByCreatedAtDesc(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE b.isPublished = true ORDER BY b.createdAt DESC",
+           countQuery = "SELECT COUNT(b) FROM Blog b WHERE b.isPublished = true")
+    Page<BlogSummaryDto> findPublishedSummaries(Pageable pageable);
     
-    @Query("SELECT b FROM Blog b WHERE b.isPublished = true AND " +
-           "(LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(b.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(b.summary) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Blog> findByKeywordAndIsPublishedTrue(@Param("keyword") String keyword, Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE b.isPublished = true AND b.createdAt <= :createdAt AND " +
+           "(b.createdAt < :createdAt OR b.id < :id) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogSummaryDto> findPublishedSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id, Pageable pageable);
     
     Optional<Blog> findByIdAndIsPublishedTrue(Long id);
     
-    @Query("SELECT b FROM Blog b WHERE b.isPublished = true ORDER BY b.viewCount DESC")
-    List<Blog> findTopByViewCountOrderByViewCountDesc(Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE b.isPublished = true ORDER BY b.viewCount DESC")
+    List<BlogSummaryDto> findTopSummariesByViewCount(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE b.isPublished = true AND b.id IN :ids")
+    List<BlogSummaryDto> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
     long countByIsPublishedTrue();
     
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,17 +17,17 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     List<Project> findByIsActiveTrueOrderByCreatedAtDesc();
     
-    List<Project> findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc();
+    List<Project> findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDescIdDesc();
     
     Page<Project> findByIsActiveTrueOrderByCreatedAtDesc(Pageable pageable);
     
-    @Query("SELECT p FROM Project p WHERE p.isActive = true AND " +
-           "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Project> findByKeywordAndIsActiveTrue(@Param("keyword") String keyword, Pageable pageable);
-    
     Optional<Project> findByIdAndIsActiveTrue(Long id);
     
+    @Query("SELECT p FROM Project p WHERE p.isActive = true AND p.createdAt <= :createdAt AND " +
+           "(p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findActiveBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                   Pageable pageable);
+    
     long countByIsActiveTrue();
     
     long countByIsFeaturedTrueAndIsActiveTrue();
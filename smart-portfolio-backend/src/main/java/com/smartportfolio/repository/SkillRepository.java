@@ -3,7 +3,6 @@ package com.smartportfolio.repository;
 import com.smartportfolio.model.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,11 +15,6 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     
     List<Skill> findByLevelAndIsActiveTrueOrderBySortOrderAscNameAsc(Integer level);
     
-    @Query("SELECT s FROM Skill s WHERE s.isActive = true AND " +
-           "LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "ORDER BY s.sortOrder ASC, s.name ASC")
-    List<Skill> findByKeywordAndIsActiveTrue(@Param("keyword") String keyword);
-    
     Optional<Skill> findByIdAndIsActiveTrue(Long id);
     
     Optional<Skill> findByNameIgnoreCaseAndIsActiveTrue(String name);
@@ -1,9 +1,16 @@
 package com.smartportfolio.repository;
 
 import com.smartportfolio.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +25,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
     
     Optional<User> findByUsernameOrEmail(String username, String email);
+    
+    /**
+     * Kullanıcı adı veya email'i çakışan kayıtların kullanıcı adlarını tek sorguda döner
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username = :username OR u.email = :email")
+    List<String> findConflictingUsernames(@Param("username") String username, @Param("email") String email);
+    
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.id = :roleId")
+    List<Long> findIdsByRoleId(@Param("roleId") Long roleId);
+    
+    @Query("SELECT u FROM User u WHERE u.createdAt <= :createdAt AND " +
+           "(u.createdAt < :createdAt OR u.id < :id) ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.authzVersion = u.authzVersion + 1 WHERE u.id IN :ids")
+    int incrementAuthzVersions(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.authzVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findAuthzVersionById(@Param("id") Long id);
+    
+    /**
+     * [id, authzVersion] çiftlerini tek sorguda döner
+     */
+    @Query("SELECT u.id, u.authzVersion FROM User u WHERE u.id IN :ids")
+    List<Object[]> findAuthzVersionsByIdIn(@Param("ids") Collection<Long> ids);
 }
 
 
@@ -3,7 +3,9 @@ package com.smartportfolio.security;
 import com.smartportfolio.model.User;
 import com.smartportfolio.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,9 +13,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     @Transactional
@@ -22,17 +26,45 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> 
                         new UsernameNotFoundException("Kullanıcı bulunamadı: " + usernameOrEmail));
 
-        return UserPrincipal.create(user);
+        return new LoginUserPrincipal(UserPrincipal.create(user), user);
     }
 
-    @Transactional
+    /**
+     * Kullanıcıyı ID ile yükler. Sonuç UserPrincipalCache'te tutulur; önbellekten
+     * dönen isteklerde transaction açılmaz.
+     */
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> 
-                        new UsernameNotFoundException("Kullanıcı bulunamadı - ID: " + id));
-
-        return UserPrincipal.create(user);
+        return userPrincipalCache.get(id, userId -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> 
+                            new UsernameNotFoundException("Kullanıcı bulunamadı - ID: " + userId));
+            return UserPrincipal.create(user);
+        });
     }
-}
 
+    /**
+     * Şifre hash'ini yapılandırılmış BCrypt cost değeriyle yeniden üretilmiş haliyle günceller
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        userPrincipalCache.evict(principal.getId());
+        log.info("Şifre hash'i güncellendi - User ID: {}", principal.getId());
 
+        UserPrincipal updated = new UserPrincipal(
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                newPassword,
+                principal.getAuthorities(),
+                principal.getAuthzVersion(),
+                principal.isEnabled()
+        );
+        // Girişte yüklenen kullanıcı korunur; giriş yanıtı yine tekrar sorgu gerektirmez
+        return principal instanceof LoginUserPrincipal loginPrincipal
+                ? new LoginUserPrincipal(updated, loginPrincipal.getUser())
+                : updated;
+    }
+}
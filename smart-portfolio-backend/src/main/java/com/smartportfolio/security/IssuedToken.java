@@ -0,0 +1,25 @@
+package com.smartportfolio.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Yeni üretilmiş token ve kimliği (jti). Redis'te token'ın tamamı yerine kimliği saklanır.
+ */
+@Getter
+@AllArgsConstructor
+public class IssuedToken {
+
+    private final String token;
+    private final String tokenId;
+    private final Date expiration;
+
+    /**
+     * Token'ın kalan geçerlilik süresini milisaniye cinsinden döner
+     */
+    public long getRemainingExpirationTime() {
+        return Math.max(expiration.getTime() - System.currentTimeMillis(), 0);
+    }
+}
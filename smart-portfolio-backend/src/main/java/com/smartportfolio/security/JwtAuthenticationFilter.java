@@ -1,5 +1,6 @@
 package com.smartportfolio.security;
 
+import com.smartportfolio.service.AuthzVersionService;
 import com.smartportfolio.service.RedisTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -23,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
     private final RedisTokenService redisTokenService;
+    private final AuthzVersionService authzVersionService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -32,23 +34,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                // Token blacklist kontrolü
-                if (redisTokenService.isTokenBlacklisted(jwt)) {
-                    logger.warn("Blacklisted token kullanılmaya çalışıldı");
-                    filterChain.doFilter(request, response);
-                    return;
-                }
+                // Token tek seferde doğrulanır; sonuç request boyunca tekrar kullanılır
+                VerifiedToken verifiedToken = tokenProvider.verifyToken(jwt).orElse(null);
+
+                if (verifiedToken != null) {
+                    // Token blacklist kontrolü
+                    if (redisTokenService.isTokenBlacklisted(verifiedToken)) {
+                        logger.warn("Blacklisted token kullanılmaya çalışıldı");
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
-                // Token geçerliliğini kontrol et
-                if (tokenProvider.validateToken(jwt)) {
-                    Long userId = tokenProvider.getUserIdFromToken(jwt);
+                    UserDetails userDetails = resolveUserDetails(verifiedToken);
+                    if (userDetails == null || !userDetails.isEnabled()) {
+                        logger.warn("Yetki versiyonu eskimiş veya devre dışı kullanıcıya ait token kullanılmaya çalışıldı");
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
-                    UserDetails userDetails = customUserDetailsService.loadUserById(userId);
                     UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
                 }
             }
         } catch (Exception ex) {
@@ -58,6 +67,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Yetkiler token'a gömülüyse principal claim'lerden oluşturulur; yalnızca yetki
+     * versiyonu kontrol edilir. Aksi halde kullanıcı veritabanından yüklenir.
+     * Versiyonu eskimiş token'lar için null döner.
+     */
+    private UserDetails resolveUserDetails(VerifiedToken verifiedToken) {
+        if (tokenProvider.isEmbedAuthorities() && verifiedToken.hasEmbeddedAuthorities()) {
+            Boolean current = authzVersionService.isCurrent(
+                    verifiedToken.getUserId(), verifiedToken.getAuthzVersion());
+            if (Boolean.TRUE.equals(current)) {
+                return UserPrincipal.create(verifiedToken);
+            }
+            if (Boolean.FALSE.equals(current)) {
+                return null;
+            }
+            // Versiyon okunamadı; veritabanına düş
+        }
+        return customUserDetailsService.loadUserById(verifiedToken.getUserId());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -3,16 +3,29 @@ package com.smartportfolio.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USERNAME = "username";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_AUTHORITIES = "auth";
+    public static final String CLAIM_AUTHZ_VERSION = "av";
+    public static final String CLAIM_SESSION_ID = "sid";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -22,100 +35,108 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationInMs;
 
+    @Value("${jwt.embed-authorities:false}")
+    private boolean embedAuthorities;
+
     private Key key;
 
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        // Parser thread-safe; her doğrulamada yeniden oluşturmak yerine tekrar kullanılır
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    public String generateToken(Authentication authentication, String sessionId) {
+        return generateToken((UserPrincipal) authentication.getPrincipal(), sessionId);
     }
 
-    public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
+    public String generateToken(UserPrincipal userPrincipal, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_SESSION_ID, sessionId)
                 .setSubject(Long.toString(userPrincipal.getId()))
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
+                .setExpiration(expiryDate);
+
+        // Yetkiler token'a gömülürse filtre kullanıcıyı veritabanından yüklemez
+        if (embedAuthorities) {
+            Long authzVersion = userPrincipal.getAuthzVersion();
+            if (authzVersion != null) {
+                builder.claim(CLAIM_USERNAME, userPrincipal.getUsername())
+                        .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                        .claim(CLAIM_AUTHORITIES, userPrincipal.getAuthorities().stream()
+                                .map(GrantedAuthority::getAuthority)
+                                .toList())
+                        .claim(CLAIM_AUTHZ_VERSION, authzVersion);
+            }
+        }
+
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String generateTokenFromUserId(Long userId) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
-
-        return Jwts.builder()
-                .setSubject(Long.toString(userId))
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+    public IssuedToken generateRefreshToken(Authentication authentication, String sessionId) {
+        return generateRefreshToken((UserPrincipal) authentication.getPrincipal(), sessionId);
     }
 
-    public String generateRefreshToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
+    public IssuedToken generateRefreshToken(UserPrincipal userPrincipal, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationInMs);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String token = Jwts.builder()
+                .setId(tokenId)
+                .claim(CLAIM_SESSION_ID, sessionId)
                 .setSubject(Long.toString(userPrincipal.getId()))
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
-    }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return new IssuedToken(token, tokenId, expiryDate);
+    }
 
-        return Long.parseLong(claims.getSubject());
+    public boolean isEmbedAuthorities() {
+        return embedAuthorities;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Token'ı tek seferde doğrular ve claim'lerini döner. Geçersiz, süresi dolmuş
+     * veya imzası hatalı token'lar için boş döner. Daha önce doğrulanmış token'lar
+     * önbellekten döner ve HMAC hesaplaması tekrarlanmaz.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            // Invalid JWT signature
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            VerifiedToken verifiedToken = new VerifiedToken(token, claims);
+            verifiedTokenCache.put(verifiedToken);
+            return Optional.of(verifiedToken);
         } catch (ExpiredJwtException ex) {
             // Expired JWT token
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
+        } catch (JwtException ex) {
+            // Invalid JWT signature, malformed or unsupported token
         } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
-        }
-        return false;
-    }
-
-    public long getRemainingExpirationTime(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            Date expiration = claims.getExpiration();
-            Date now = new Date();
-            
-            long remainingTime = expiration.getTime() - now.getTime();
-            return Math.max(remainingTime, 0);
-        } catch (Exception e) {
-            return 0;
+            // JWT claims string is empty or subject is not a user id
         }
+        return Optional.empty();
     }
 }
 
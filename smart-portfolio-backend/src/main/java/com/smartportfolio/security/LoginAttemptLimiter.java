@@ -0,0 +1,62 @@
+package com.smartportfolio.security;
+
+import com.smartportfolio.exception.TooManyRequestsException;
+import com.smartportfolio.service.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hesap başına başarısız giriş limiti. Sayaç istemcinin gönderdiği kullanıcı adı veya
+ * email'e değil, çözümlenmiş kullanıcı ID'sine bağlıdır; aynı hesabın kullanıcı adı ve
+ * email'i tek sayaçtadır. Yalnızca hatalı şifreler sayılır ve başarılı girişte sayaç
+ * sıfırlanır. Limit dolduğunda şifre doğrulaması yapılmadan 429 döner.
+ */
+@Component
+@Slf4j
+public class LoginAttemptLimiter {
+
+    private static final String KEY_PREFIX = "login-failures:";
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final int capacity;
+    private final long windowMs;
+
+    public LoginAttemptLimiter(RateLimiter rateLimiter,
+                               @Value("${rate-limit.enabled:true}") boolean enabled,
+                               @Value("${rate-limit.login-account.capacity:10}") int capacity,
+                               @Value("${rate-limit.login-account.window-ms:900000}") long windowMs) {
+        RateLimiter.validate("login-account", capacity, windowMs);
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Hesabın başarısız deneme limiti dolmuşsa şifre kontrol edilmeden reddedilir
+     */
+    public void checkNotLocked(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        long retryAfterMs = rateLimiter.peek(KEY_PREFIX + userId, capacity, windowMs);
+        if (retryAfterMs > 0) {
+            log.warn("Hesap başına başarısız giriş limiti aşıldı - User ID: {}", userId);
+            throw new TooManyRequestsException((retryAfterMs + 999) / 1000);
+        }
+    }
+
+    public void recordFailure(Long userId) {
+        if (enabled) {
+            rateLimiter.tryAcquire(KEY_PREFIX + userId, capacity, windowMs);
+        }
+    }
+
+    public void reset(Long userId) {
+        if (enabled) {
+            rateLimiter.reset(KEY_PREFIX + userId);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.smartportfolio.security;
+
+import com.smartportfolio.model.User;
+import lombok.Getter;
+
+/**
+ * Giriş doğrulamasında yüklenen principal. Doğrulamada okunan kullanıcıyı taşır; giriş
+ * yanıtı için kullanıcı veritabanından ikinci kez okunmaz. Roller ve izinler EAGER
+ * yüklendiğinden entity transaction dışında da eksiksizdir. Önbelleğe alınmaz.
+ */
+@Getter
+public class LoginUserPrincipal extends UserPrincipal {
+
+    private final User user;
+
+    LoginUserPrincipal(UserPrincipal principal, User user) {
+        super(
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                principal.getPassword(),
+                principal.getAuthorities(),
+                principal.getAuthzVersion(),
+                principal.isEnabled()
+        );
+        this.user = user;
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartportfolio.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartportfolio.exception.ErrorResponse;
+import com.smartportfolio.service.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Maliyetli endpoint'ler için hız sınırı. Kimlik doğrulama endpoint'leri istemci IP'si,
+ * AI endpoint'i ise kullanıcı (giriş yapılmamışsa IP) başına sınırlanır. Limit aşılırsa
+ * 429 ve Retry-After başlığı döner. JwtAuthenticationFilter'dan sonra çalışır.
+ * Hesap başına başarısız giriş limiti LoginAttemptLimiter'da uygulanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Value("${rate-limit.login.capacity:10}")
+    private int loginCapacity;
+
+    @Value("${rate-limit.login.window-ms:60000}")
+    private long loginWindowMs;
+
+    @Value("${rate-limit.register.capacity:5}")
+    private int registerCapacity;
+
+    @Value("${rate-limit.register.window-ms:3600000}")
+    private long registerWindowMs;
+
+    @Value("${rate-limit.refresh.capacity:30}")
+    private int refreshCapacity;
+
+    @Value("${rate-limit.refresh.window-ms:60000}")
+    private long refreshWindowMs;
+
+    @Value("${rate-limit.ai.capacity:20}")
+    private int aiCapacity;
+
+    @Value("${rate-limit.ai.window-ms:3600000}")
+    private long aiWindowMs;
+
+    private Map<String, Rule> rules;
+
+    @PostConstruct
+    public void init() {
+        this.rules = Map.of(
+                "/auth/login", new Rule("login", loginCapacity, loginWindowMs, false),
+                "/auth/register", new Rule("register", registerCapacity, registerWindowMs, false),
+                "/auth/refresh", new Rule("refresh", refreshCapacity, refreshWindowMs, false),
+                "/ai/generate", new Rule("ai", aiCapacity, aiWindowMs, true)
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !rules.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = rules.get(request.getServletPath());
+        String key = rule.name() + ":" + resolveClientKey(request, rule.perUser());
+
+        long retryAfterMs = rateLimiter.tryAcquire(key, rule.capacity(), rule.windowMs());
+        if (retryAfterMs > 0) {
+            log.warn("Hız sınırı aşıldı - {}", key);
+            reject(request, response, retryAfterMs);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveClientKey(HttpServletRequest request, boolean perUser) {
+        if (perUser) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "user:" + principal.getId();
+            }
+        }
+        return "ip:" + resolveClientIp(request);
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        long retryAfterMs) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Çok Fazla İstek")
+                .message("İstek limiti aşıldı, lütfen daha sonra tekrar deneyin")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000));
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private record Rule(String name, int capacity, long windowMs, boolean perUser) {
+
+        private Rule {
+            RateLimiter.validate(name, capacity, windowMs);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Getter
@@ -19,6 +20,10 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    // Yetkilerle aynı satırdan okunur; token'a gömülen versiyon yetkilerle tutarlıdır
+    private Long authzVersion;
+    // Devre dışı bırakılmış kullanıcılar giriş yapamaz, token yenileyemez ve token'ları kabul edilmez
+    private boolean enabled;
 
     public static UserPrincipal create(User user) {
         Collection<GrantedAuthority> authorities = user.getRoles().stream()
@@ -36,7 +41,30 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getAuthzVersion(),
+                Boolean.TRUE.equals(user.getIsActive())
+        );
+    }
+
+    /**
+     * Yetkileri token'a gömülmüş bir access token'dan veritabanına gitmeden principal oluşturur
+     */
+    public static UserPrincipal create(VerifiedToken token) {
+        List<?> authorityNames = token.getClaim(JwtTokenProvider.CLAIM_AUTHORITIES, List.class);
+        Collection<GrantedAuthority> authorities = authorityNames.stream()
+                .map(name -> new SimpleGrantedAuthority(name.toString()))
+                .collect(Collectors.toList());
+
+        return new UserPrincipal(
+                token.getUserId(),
+                token.getClaim(JwtTokenProvider.CLAIM_USERNAME, String.class),
+                token.getClaim(JwtTokenProvider.CLAIM_EMAIL, String.class),
+                null,
+                authorities,
+                token.getAuthzVersion(),
+                // Devre dışı bırakma yetki versiyonunu artırır; versiyonu güncel token aktif kullanıcıya aittir
+                true
         );
     }
 
@@ -72,7 +100,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
 
@@ -0,0 +1,125 @@
+package com.smartportfolio.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.smartportfolio.service.RedisCircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcı ID'sine göre UserPrincipal önbelleği. Her istekte kullanıcı, rol ve
+ * izin tablolarının tekrar yüklenmesini engeller. Rol veya kullanıcı değiştiğinde
+ * ilgili kayıtlar servis katmanından commit sonrasında düşürülür ve olay diğer
+ * node'lara pub/sub ile yayınlanır. Yayın kaçırılırsa eski kayıt en geç TTL sonunda düşer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserPrincipalCache implements MessageListener {
+
+    public static final String CHANNEL = "principal:events";
+
+    private final MeterRegistry meterRegistry;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${jwt.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private Cache<Long, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipals");
+    }
+
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Kaydı transaction commit edildikten sonra (transaction yoksa hemen) düşürür.
+     * Commit öncesi düşürülen kayıt, eşzamanlı bir istekle eski haliyle tekrar yüklenebilirdi.
+     */
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(ids);
+                }
+            });
+        } else {
+            evictNow(ids);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length != 2) {
+            log.warn("Tanınmayan UserPrincipal olayı alındı");
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        cache.invalidateAll(Arrays.stream(parts[1].split(",")).map(Long::valueOf).toList());
+    }
+
+    private void evictNow(List<Long> userIds) {
+        cache.invalidateAll(userIds);
+        String ids = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        circuitBreaker.run("principalEvict", () ->
+                stringRedisTemplate.convertAndSend(CHANNEL, nodeId + " " + ids));
+        log.debug("UserPrincipal önbellekten çıkarıldı - User ID: {}", ids);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,92 @@
+package com.smartportfolio.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * İmzası bir kez doğrulanmış JWT. Filtre, servisler ve controller'lar token'ı
+ * yeniden parse etmek yerine bu nesneyi kullanır.
+ */
+@Getter
+public class VerifiedToken {
+
+    /**
+     * Filtrenin doğrulanmış token'ı request'e eklediği attribute adı
+     */
+    public static final String REQUEST_ATTRIBUTE = "com.smartportfolio.security.VerifiedToken";
+
+    private final String token;
+    private final Claims claims;
+    private final Long userId;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final String tokenId;
+
+    public VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+        this.userId = Long.parseLong(claims.getSubject());
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.tokenId = claims.getId() != null ? claims.getId() : idOf(token);
+    }
+
+    /**
+     * jti claim'i olmayan (eski) token'lar için true döner
+     */
+    public boolean isLegacy() {
+        return claims.getId() == null;
+    }
+
+    /**
+     * Token'ın kalan geçerlilik süresini milisaniye cinsinden döner
+     */
+    public long getRemainingExpirationTime() {
+        if (expiration == null) {
+            return 0;
+        }
+        return Math.max(expiration.getTime() - System.currentTimeMillis(), 0);
+    }
+
+    /**
+     * Token yetkileri ve yetki versiyonunu taşıyorsa true döner
+     */
+    public boolean hasEmbeddedAuthorities() {
+        return claims.containsKey(JwtTokenProvider.CLAIM_AUTHORITIES)
+                && claims.containsKey(JwtTokenProvider.CLAIM_AUTHZ_VERSION);
+    }
+
+    /**
+     * Token'ın ait olduğu cihaz oturumu
+     */
+    public String getSessionId() {
+        return claims.get(JwtTokenProvider.CLAIM_SESSION_ID, String.class);
+    }
+
+    public Long getAuthzVersion() {
+        Number version = claims.get(JwtTokenProvider.CLAIM_AUTHZ_VERSION, Number.class);
+        return version != null ? version.longValue() : null;
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    /**
+     * jti claim'i olmayan token'lar için token'ın SHA-256 özetinden sabit uzunlukta kimlik üretir
+     */
+    public static String idOf(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
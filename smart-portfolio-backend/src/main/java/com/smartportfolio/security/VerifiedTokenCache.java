@@ -0,0 +1,84 @@
+package com.smartportfolio.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doğrulanmış token'ları imza kısmına göre saklayan sınırlı boyutlu önbellek.
+ * Her kayıt token'ın exp zamanında kendiliğinden düşer.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(value.getRemainingExpirationTime());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Önbellekteki doğrulanmış token'ı döner. İmza aynı olsa bile token'ın
+     * tamamı eşleşmiyorsa (değiştirilmiş payload) kayıt kullanılmaz.
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        VerifiedToken cached = cache.getIfPresent(signatureOf(token));
+        if (cached == null || !cached.getToken().equals(token)) {
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(VerifiedToken verifiedToken) {
+        if (enabled && verifiedToken.getRemainingExpirationTime() > 0) {
+            cache.put(signatureOf(verifiedToken.getToken()), verifiedToken);
+        }
+    }
+
+    /**
+     * Token'ı önbellekten çıkarır (blacklist'e eklenen token'lar için)
+     */
+    public void evict(String token) {
+        cache.invalidate(signatureOf(token));
+    }
+
+    private String signatureOf(String token) {
+        int lastDot = token.lastIndexOf('.');
+        return lastDot >= 0 ? token.substring(lastDot + 1) : token;
+    }
+}
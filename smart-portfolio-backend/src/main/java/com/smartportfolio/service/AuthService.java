@@ -2,15 +2,19 @@ package com.smartportfolio.service;
 
 import com.smartportfolio.dto.*;
 import com.smartportfolio.exception.*;
+import com.smartportfolio.mapper.UserMapper;
 import com.smartportfolio.model.Role;
 import com.smartportfolio.model.User;
 import com.smartportfolio.repository.RoleRepository;
 import com.smartportfolio.repository.UserRepository;
+import com.smartportfolio.security.IssuedToken;
 import com.smartportfolio.security.JwtTokenProvider;
+import com.smartportfolio.security.LoginUserPrincipal;
 import com.smartportfolio.security.UserPrincipal;
+import com.smartportfolio.security.UserPrincipalCache;
+import com.smartportfolio.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,10 +22,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -33,28 +42,55 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final RedisTokenService redisTokenService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
-    public AuthResponse register(RegisterRequest registerRequest) {
-        log.info("Yeni kullanıcı kaydı başlatılıyor: {}", registerRequest.getUsername());
+    private static final int MAX_USER_AGENT_LENGTH = 200;
 
-        // Kullanıcı adı kontrolü
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new UsernameAlreadyExistsException(registerRequest.getUsername());
-        }
+    /**
+     * Şifre hash'i transaction dışında üretilir; BCrypt kuyruğunda bekleyen istekler
+     * veritabanı bağlantısı tutmaz. Yalnızca kullanıcı ve rol yazımı transaction içindedir.
+     */
+    public AuthResponse register(RegisterRequest registerRequest, String userAgent) {
+        log.info("Yeni kullanıcı kaydı başlatılıyor: {}", registerRequest.getUsername());
 
-        // Email kontrolü
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        // Kullanıcı adı ve email kontrolü (tek sorgu)
+        List<String> conflicts = userRepository.findConflictingUsernames(
+                registerRequest.getUsername(), registerRequest.getEmail());
+        if (!conflicts.isEmpty()) {
+            boolean usernameTaken = conflicts.stream()
+                    .anyMatch(username -> username.equalsIgnoreCase(registerRequest.getUsername()));
+            if (usernameTaken) {
+                throw new UsernameAlreadyExistsException(registerRequest.getUsername());
+            }
             throw new EmailAlreadyExistsException(registerRequest.getEmail());
         }
 
+        String encodedPassword = passwordEncoder.encode(registerRequest.getPassword());
+
+        User savedUser = transactionTemplate.execute(status -> createUser(registerRequest, encodedPassword));
+        log.info("Kullanıcı başarıyla kaydedildi: {}", savedUser.getUsername());
+
+        // Şifre az önce hash'lendi; kullanıcıyı tekrar yükleyip doğrulamaya gerek yok
+        UserPrincipal userPrincipal = UserPrincipal.create(savedUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities())
+        );
+
+        UserDto userDto = userMapper.toDto(savedUser);
+
+        return startSession(userPrincipal, userAgent, userDto);
+    }
+
+    private User createUser(RegisterRequest registerRequest, String encodedPassword) {
         // User oluştur
         User user = User.builder()
                 .username(registerRequest.getUsername())
                 .email(registerRequest.getEmail())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
+                .password(encodedPassword)
                 .firstName(registerRequest.getFirstName())
                 .lastName(registerRequest.getLastName())
                 .phoneNumber(registerRequest.getPhoneNumber())
@@ -78,37 +114,15 @@ public class AuthService {
         user.setRoles(roles);
 
         User savedUser = userRepository.save(user);
-        log.info("Kullanıcı başarıyla kaydedildi: {}", savedUser.getUsername());
-
-        // Token oluştur
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        registerRequest.getUsername(),
-                        registerRequest.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(authentication);
-
-        // Refresh token'ı Redis'e kaydet
-        redisTokenService.saveRefreshToken(savedUser.getId(), refreshToken, 604800000L); // 7 gün
-
-        UserDto userDto = modelMapper.map(savedUser, UserDto.class);
-
-        return AuthResponse.builder()
-                .token(accessToken)
-                .refreshToken(refreshToken)
-                .tokenType("Bearer")
-                .expiresIn(86400L)
-                .user(userDto)
-                .build();
+        userPrincipalCache.evict(savedUser.getId());
+        return savedUser;
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest loginRequest) {
+    /**
+     * Transaction açılmaz: kullanıcı kendi kısa transaction'ında yüklenir, şifre
+     * doğrulaması bağlantı tutulmadan BCrypt havuzunda yapılır.
+     */
+    public AuthResponse login(LoginRequest loginRequest, String userAgent) {
         log.info("Kullanıcı girişi yapılıyor: {}", loginRequest.getUsernameOrEmail());
 
         Authentication authentication = authenticationManager.authenticate(
@@ -119,66 +133,60 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(authentication);
+        // Doğrulamada yüklenen kullanıcı kullanılır; DTO için ikinci sorgu yapılmaz
+        User user = userPrincipal instanceof LoginUserPrincipal loginPrincipal
+                ? loginPrincipal.getUser()
+                : userRepository.findById(userPrincipal.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
 
-        // Kullanıcı bilgilerini getir
-        User user = userRepository.findByUsernameOrEmail(
-                loginRequest.getUsernameOrEmail(),
-                loginRequest.getUsernameOrEmail()
-        ).orElseThrow(() -> new ResourceNotFoundException(
-                "User", "usernameOrEmail", loginRequest.getUsernameOrEmail()
-        ));
+        UserDto userDto = userMapper.toDto(user);
 
-        // Refresh token'ı Redis'e kaydet
-        redisTokenService.saveRefreshToken(user.getId(), refreshToken, 604800000L); // 7 gün
-
-        // Son giriş zamanını güncelle
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
-
-        UserDto userDto = modelMapper.map(user, UserDto.class);
+        // Son giriş zamanı toplu olarak arka planda yazılır
+        LocalDateTime lastLogin = LocalDateTime.now();
+        lastLoginBuffer.record(user.getId(), lastLogin);
+        userDto.setLastLogin(lastLogin);
 
         log.info("Kullanıcı başarıyla giriş yaptı: {}", user.getUsername());
 
-        return AuthResponse.builder()
-                .token(accessToken)
-                .refreshToken(refreshToken)
-                .tokenType("Bearer")
-                .expiresIn(86400L)
-                .user(userDto)
-                .build();
+        return startSession(userPrincipal, userAgent, userDto);
     }
 
     @Transactional(readOnly = true)
-    public UserDto getCurrentUser(String token) {
-        Long userId = tokenProvider.getUserIdFromToken(token);
+    public UserDto getCurrentUser(VerifiedToken token) {
+        if (token == null) {
+            throw new InvalidTokenException();
+        }
+
+        Long userId = token.getUserId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        return modelMapper.map(user, UserDto.class);
+        return userMapper.toDto(user);
     }
 
     @Transactional
-    public MessageResponse logout(String accessToken, String refreshToken) {
+    public MessageResponse logout(VerifiedToken accessToken, String refreshToken) {
         log.info("Kullanıcı çıkış yapıyor");
 
+        if (accessToken == null) {
+            throw new InvalidTokenException();
+        }
+
         try {
             // Access token'dan kullanıcı ID'sini al
-            Long userId = tokenProvider.getUserIdFromToken(accessToken);
-
-            // Access token'ı blacklist'e ekle (kalan süre kadar)
-            long remainingTime = tokenProvider.getRemainingExpirationTime(accessToken);
-            if (remainingTime > 0) {
-                redisTokenService.blacklistToken(accessToken, remainingTime);
-            }
+            Long userId = accessToken.getUserId();
 
-            // Refresh token'ı Redis'ten sil
-            redisTokenService.deleteRefreshToken(userId);
+            // Access token'ı blacklist'e ekle (kalan süre kadar) ve refresh token'ı sil
+            long remainingTime = accessToken.getRemainingExpirationTime();
+            redisTokenService.logout(userId, accessToken, remainingTime);
 
             log.info("Kullanıcı başarıyla çıkış yaptı - User ID: {}", userId);
             return MessageResponse.success("Başarıyla çıkış yapıldı");
+        } catch (ServiceBusyException e) {
+            // Redis erişilemez: 503 ve Retry-After ile istemci tekrar dener
+            throw e;
         } catch (Exception e) {
             log.error("Logout sırasında hata oluştu: {}", e.getMessage());
             throw new BadRequestException("Çıkış işlemi sırasında bir hata oluştu");
@@ -190,49 +198,121 @@ public class AuthService {
         log.info("Token yenileme işlemi başlatılıyor");
 
         // Token geçerliliğini kontrol et
-        if (!tokenProvider.validateToken(refreshToken)) {
-            log.error("Geçersiz refresh token");
-            throw new InvalidTokenException("Geçersiz refresh token");
-        }
-
-        // Token'dan kullanıcı ID'sini al
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+        VerifiedToken verifiedToken = tokenProvider.verifyToken(refreshToken)
+                .orElseThrow(() -> {
+                    log.error("Geçersiz refresh token");
+                    return new InvalidTokenException("Geçersiz refresh token");
+                });
 
-        // Redis'teki refresh token ile karşılaştır
-        String storedRefreshToken = redisTokenService.getRefreshToken(userId);
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
-            log.error("Refresh token eşleşmiyor veya bulunamadı - User ID: {}", userId);
+        // Token'dan kullanıcı ve oturum ID'sini al
+        Long userId = verifiedToken.getUserId();
+        String sessionId = verifiedToken.getSessionId();
+        if (sessionId == null) {
+            log.error("Refresh token bir cihaz oturumuna bağlı değil - User ID: {}", userId);
             throw new InvalidTokenException("Refresh token geçersiz veya süresi dolmuş");
         }
 
         // Kullanıcıyı getir
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        // Devre dışı bırakılan kullanıcı güncel yetki versiyonuyla yeni access token alamaz
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            log.warn("Devre dışı kullanıcı token yenilemeye çalıştı - User ID: {}", userId);
+            throw new UnauthorizedException("Kullanıcı hesabı devre dışı");
+        }
 
         // Yeni token'lar oluştur
-        String newAccessToken = tokenProvider.generateTokenFromUserId(userId);
-        String newRefreshToken = tokenProvider.generateRefreshToken(
-                new UsernamePasswordAuthenticationToken(
-                        UserPrincipal.create(user), 
-                        null, 
-                        UserPrincipal.create(user).getAuthorities()
-                )
-        );
-
-        // Yeni refresh token'ı Redis'e kaydet
-        redisTokenService.saveRefreshToken(userId, newRefreshToken, 604800000L); // 7 gün
+        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        String newAccessToken = tokenProvider.generateToken(userPrincipal, sessionId);
+        IssuedToken newRefreshToken = tokenProvider.generateRefreshToken(userPrincipal, sessionId);
+
+        // Oturumdaki refresh token kimliği eşleşirse atomik olarak yenisiyle değiştir
+        boolean rotated = redisTokenService.rotateRefreshToken(userId, sessionId,
+                verifiedToken.getTokenId(), newRefreshToken);
+        if (!rotated) {
+            log.error("Refresh token eşleşmiyor veya bulunamadı - User ID: {}", userId);
+            throw new InvalidTokenException("Refresh token geçersiz veya süresi dolmuş");
+        }
 
-        UserDto userDto = modelMapper.map(user, UserDto.class);
+        UserDto userDto = userMapper.toDto(user);
 
         log.info("Token başarıyla yenilendi - User ID: {}", userId);
 
         return AuthResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
+                .token(newAccessToken)
+                .refreshToken(newRefreshToken.getToken())
                 .tokenType("Bearer")
                 .expiresIn(86400L)
                 .user(userDto)
                 .build();
     }
-}
 
+    public List<SessionDto> getSessions(VerifiedToken accessToken) {
+        if (accessToken == null) {
+            throw new InvalidTokenException();
+        }
+
+        return redisTokenService.getSessions(accessToken.getUserId()).stream()
+                .map(session -> SessionDto.builder()
+                        .sessionId(session.getSessionId())
+                        .userAgent(session.getUserAgent())
+                        .createdAt(toLocalDateTime(session.getCreatedAt()))
+                        .expiresAt(toLocalDateTime(session.getExpiresAt()))
+                        .current(session.getSessionId().equals(accessToken.getSessionId()))
+                        .build())
+                .toList();
+    }
+
+    public MessageResponse revokeSession(VerifiedToken accessToken, String sessionId) {
+        if (accessToken == null) {
+            throw new InvalidTokenException();
+        }
+
+        if (!redisTokenService.revokeSession(accessToken.getUserId(), sessionId)) {
+            throw new ResourceNotFoundException("Session", "id", sessionId);
+        }
+        return MessageResponse.success("Oturum sonlandırıldı");
+    }
+
+    public MessageResponse revokeAllSessions(VerifiedToken accessToken) {
+        if (accessToken == null) {
+            throw new InvalidTokenException();
+        }
+
+        redisTokenService.revokeAllSessions(accessToken.getUserId());
+        return MessageResponse.success("Tüm oturumlar sonlandırıldı");
+    }
+
+    /**
+     * Yeni bir cihaz oturumu açar ve bu oturuma bağlı token'ları üretir
+     */
+    private AuthResponse startSession(UserPrincipal userPrincipal, String userAgent, UserDto userDto) {
+        String sessionId = UUID.randomUUID().toString();
+        String accessToken = tokenProvider.generateToken(userPrincipal, sessionId);
+        IssuedToken refreshToken = tokenProvider.generateRefreshToken(userPrincipal, sessionId);
+
+        // Cihaz oturumunu Redis'e kaydet
+        DeviceSession session = new DeviceSession(
+                sessionId,
+                refreshToken.getTokenId(),
+                refreshToken.getExpiration().getTime(),
+                System.currentTimeMillis(),
+                userAgent != null && userAgent.length() > MAX_USER_AGENT_LENGTH
+                        ? userAgent.substring(0, MAX_USER_AGENT_LENGTH)
+                        : userAgent
+        );
+        redisTokenService.saveSession(userPrincipal.getId(), session);
+
+        return AuthResponse.builder()
+                .token(accessToken)
+                .refreshToken(refreshToken.getToken())
+                .tokenType("Bearer")
+                .expiresIn(86400L)
+                .user(userDto)
+                .build();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,175 @@
+package com.smartportfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartportfolio.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kullanıcı başına yetki versiyonunu tutar. Rol veya kullanıcı durumu değiştiğinde
+ * versiyon, değişiklikle aynı transaction içinde veritabanında artırılır; eski
+ * versiyonla üretilmiş token'lar kabul edilmez. Redis yalnızca önbellektir: anahtar
+ * yoksa versiyon veritabanından yüklenir. Yeni versiyon commit sonrasında Redis'e
+ * yazılır; Redis erişilemezse yazım kuyrukta tutulup tekrar denenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthzVersionService {
+
+    // Versiyonlar veritabanına taşınmadan önceki sayaçlarla karışmaması için yeni önek
+    private static final String AUTHZ_VERSION_PREFIX = "authz:dbversion:";
+    // Silinmiş kullanıcılar; hiçbir token'daki versiyonla eşleşmez
+    private static final long DELETED = -1L;
+
+    private static final RedisScript<Long> SET_VERSION_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/authz-version.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UserRepository userRepository;
+
+    @Value("${jwt.authz-version.local-ttl-ms:5000}")
+    private long localTtlMs;
+
+    @Value("${jwt.expiration}")
+    private long keyTtlMs;
+
+    private Cache<Long, Long> localVersions;
+
+    // Commit edilmiş ama Redis'e yazılamamış versiyonlar
+    private final Map<Long, Long> pendingVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        this.localVersions = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .build();
+    }
+
+    /**
+     * Kullanıcının güncel yetki versiyonunu döner. Redis'e erişilemezse null döner.
+     */
+    public Long getVersion(Long userId) {
+        Long pending = pendingVersions.get(userId);
+        if (pending != null) {
+            return pending;
+        }
+        Long cached = localVersions.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<String> value = circuitBreaker.call("getAuthzVersion",
+                () -> Optional.ofNullable(stringRedisTemplate.opsForValue().get(AUTHZ_VERSION_PREFIX + userId)),
+                () -> null);
+        if (value == null) {
+            return null;
+        }
+        Long version;
+        if (value.isPresent()) {
+            version = Long.parseLong(value.get());
+        } else {
+            // Anahtar yok veya kaybolmuş; versiyon sıfıra düşmez, veritabanından yüklenir
+            long stored = userRepository.findAuthzVersionById(userId).orElse(DELETED);
+            version = circuitBreaker.call("loadAuthzVersion", () -> writeVersion(userId, stored), () -> stored);
+        }
+        localVersions.put(userId, version);
+        return version;
+    }
+
+    /**
+     * Token'daki versiyonun güncel olup olmadığını kontrol eder.
+     * Versiyon okunamazsa null döner; çağıran taraf veritabanına düşmelidir.
+     */
+    public Boolean isCurrent(Long userId, Long tokenVersion) {
+        Long current = getVersion(userId);
+        if (current == null) {
+            return null;
+        }
+        return Objects.equals(current, tokenVersion);
+    }
+
+    /**
+     * Kullanıcının yetki versiyonunu mevcut transaction içinde artırır.
+     * Yeni versiyon commit sonrasında Redis'e yazılır.
+     */
+    public void bumpVersion(Long userId) {
+        bumpVersions(List.of(userId));
+    }
+
+    public void bumpVersions(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.incrementAuthzVersions(userIds);
+        // Satırlar bu transaction'da kilitli; okunan değer commit edilecek değerdir
+        Map<Long, Long> versions = new HashMap<>();
+        userIds.forEach(userId -> versions.put(userId, DELETED));
+        for (Object[] row : userRepository.findAuthzVersionsByIdIn(userIds)) {
+            versions.put((Long) row[0], (Long) row[1]);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(versions);
+                }
+            });
+        } else {
+            publish(versions);
+        }
+    }
+
+    /**
+     * Redis'e yazılamamış versiyonları tekrar dener
+     */
+    @Scheduled(fixedDelayString = "${jwt.authz-version.retry-interval-ms:1000}")
+    public void retryPending() {
+        if (!pendingVersions.isEmpty()) {
+            publish(Map.copyOf(pendingVersions));
+        }
+    }
+
+    private void publish(Map<Long, Long> versions) {
+        versions.forEach((userId, version) -> {
+            pendingVersions.merge(userId, version, Math::max);
+            localVersions.invalidate(userId);
+            Long written = circuitBreaker.call("bumpAuthzVersion", () -> writeVersion(userId, version), () -> null);
+            if (written != null) {
+                pendingVersions.remove(userId, version);
+                log.info("Yetki versiyonu güncellendi - User ID: {}, versiyon: {}", userId, written);
+            } else {
+                log.warn("Yetki versiyonu Redis'e yazılamadı, tekrar denenecek - User ID: {}", userId);
+            }
+        });
+    }
+
+    /**
+     * Versiyonu mevcut değerden büyükse yazar ve Redis'teki güncel değeri döner
+     */
+    private Long writeVersion(Long userId, long version) {
+        return stringRedisTemplate.execute(SET_VERSION_SCRIPT, List.of(AUTHZ_VERSION_PREFIX + userId),
+                String.valueOf(version), String.valueOf(keyTtlMs));
+    }
+}
@@ -0,0 +1,158 @@
+package com.smartportfolio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Yayınlanmış blogların görüntülenme sayısına göre sıralandığı Redis sorted set.
+ * Görüntülenme artışları {@link ViewCountBuffer} yazımından sonra yalnızca listede bulunan
+ * bloglara ({@code ZADD XX INCR}), yayın durumu değişiklikleri commit sonrasında uygulanır.
+ * Açılışta ve periyodik olarak veritabanından yeniden oluşturulur; böylece Redis erişilemezken
+ * kaçırılan artışlar telafi edilir. Yeniden oluşturma sürerken gelen artışlar günlüğe yazılır
+ * ve yeni liste devreye alınırken tekrar uygulanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlogLeaderboard {
+
+    static final String KEY = "blogs:leaderboard";
+    private static final String REBUILD_KEY_PREFIX = "blogs:leaderboard:rebuild:";
+    // Aynı anda tek yeniden oluşturma çalışır; kilit varken artışlar günlüğe de yazılır
+    private static final String REBUILD_LOCK_KEY = "blogs:leaderboard:rebuild-lock";
+    private static final String REBUILD_JOURNAL_KEY = "blogs:leaderboard:rebuild-journal";
+    // Yarıda kalan yeniden oluşturmanın kilidi ve günlüğü bu süre sonunda kendiliğinden silinir
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(5);
+    private static final String SELECT_SQL = "SELECT id, view_count FROM blogs WHERE is_published = true";
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/leaderboard-increment.lua"), Long.class);
+    private static final RedisScript<Long> REBUILD_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/leaderboard-rebuild.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * En çok görüntülenen ilk {@code limit} blogun ID'leri. Liste Redis'ten okunamazsa
+     * veya henüz oluşturulmamışsa null döner; çağıran veritabanı sorgusuna düşer.
+     */
+    public List<Long> top(int limit) {
+        return circuitBreaker.call("leaderboardTop", () -> {
+            Set<String> ids = stringRedisTemplate.opsForZSet().reverseRange(KEY, 0, limit - 1);
+            if (ids == null || ids.isEmpty()) {
+                return null;
+            }
+            return ids.stream().map(Long::valueOf).toList();
+        }, () -> null);
+    }
+
+    /**
+     * Veritabanına yazılmış görüntülenme artışlarını tek script çağrısında uygular.
+     * Listede olmayan (yayından kaldırılmış veya silinmiş) bloglar yeniden eklenmez.
+     */
+    public void incrementAll(List<long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(deltas.size() * 2 + 1);
+        args.add(String.valueOf(REBUILD_LOCK_TTL.toMillis()));
+        for (long[] delta : deltas) {
+            args.add(String.valueOf(delta[0]));
+            args.add(String.valueOf(delta[1]));
+        }
+        circuitBreaker.run("leaderboardIncrement", () -> stringRedisTemplate.execute(INCREMENT_SCRIPT,
+                List.of(KEY, REBUILD_LOCK_KEY, REBUILD_JOURNAL_KEY), args.toArray()));
+    }
+
+    /**
+     * Yayınlanan blogu listeye ekler; zaten listedeyse mevcut skoru korunur
+     */
+    public void add(Long blogId, long viewCount) {
+        afterCommit(() -> circuitBreaker.run("leaderboardAdd", () ->
+                stringRedisTemplate.opsForZSet().addIfAbsent(KEY, String.valueOf(blogId), viewCount)));
+    }
+
+    /**
+     * Yayından kaldırılan veya silinen blogu listeden çıkarır
+     */
+    public void remove(Long blogId) {
+        afterCommit(() -> circuitBreaker.run("leaderboardRemove", () ->
+                stringRedisTemplate.opsForZSet().remove(KEY, String.valueOf(blogId))));
+    }
+
+    /**
+     * Listeyi geçici bir anahtarda oluşturur ve RENAME ile atomik olarak değiştirir.
+     * Kilit SELECT'ten önce alınır; SELECT ile RENAME arasında eski listeye uygulanan artışlar
+     * günlükten yeni listeye aktarılır. Kilit alınmadan hemen önce veritabanına yazılmış bir
+     * artış iki kez sayılabilir; bu fark bir sonraki yeniden oluşturmada düzelir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.leaderboard.rebuild-interval-ms:3600000}",
+            initialDelayString = "${blog.leaderboard.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        boolean locked = circuitBreaker.call("leaderboardRebuildLock", () -> Boolean.TRUE.equals(
+                stringRedisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, "1", REBUILD_LOCK_TTL)),
+                () -> false);
+        if (!locked) {
+            log.debug("Blog sıralaması başka bir örnekte yeniden oluşturuluyor veya Redis erişilemez");
+            return;
+        }
+        String rebuildKey = REBUILD_KEY_PREFIX + UUID.randomUUID();
+        try {
+            List<long[]> rows = jdbcTemplate.query(SELECT_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            circuitBreaker.run("leaderboardRebuild", () -> {
+                if (!rows.isEmpty()) {
+                    stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                        StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                        for (long[] row : rows) {
+                            stringConnection.zAdd(rebuildKey, row[1], String.valueOf(row[0]));
+                        }
+                        return null;
+                    });
+                }
+                Long replayed = stringRedisTemplate.execute(REBUILD_SCRIPT,
+                        List.of(rebuildKey, KEY, REBUILD_LOCK_KEY, REBUILD_JOURNAL_KEY));
+                log.info("Blog sıralaması yeniden oluşturuldu - {} kayıt, {} artış tekrar uygulandı",
+                        rows.size(), replayed);
+            });
+        } catch (Exception e) {
+            log.error("Blog sıralaması yeniden oluşturulamadı: {}", e.getMessage());
+            circuitBreaker.run("leaderboardRebuildUnlock", () ->
+                    stringRedisTemplate.delete(List.of(rebuildKey, REBUILD_LOCK_KEY, REBUILD_JOURNAL_KEY)));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
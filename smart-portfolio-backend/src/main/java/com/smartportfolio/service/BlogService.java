@@ -1,18 +1,28 @@
 package com.smartportfolio.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.smartportfolio.dto.*;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.BlogMapper;
 import com.smartportfolio.model.Blog;
 import com.smartportfolio.repository.BlogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,15 +31,21 @@ import java.util.stream.Collectors;
 public class BlogService {
 
     private final BlogRepository blogRepository;
-    private final ModelMapper modelMapper;
+    private final BlogMapper blogMapper;
+    private final TwoTierCache cache;
+    private final ViewCountBuffer viewCountBuffer;
+    private final BlogLeaderboard leaderboard;
+    private final SearchIndex searchIndex;
+
+    public static final String CACHE_PUBLISHED = "blogs:published:summary";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "id");
 
     @Transactional(readOnly = true)
-    public List<BlogDto> getAllPublishedBlogs() {
+    public List<BlogSummaryDto> getAllPublishedBlogs() {
         log.info("Tüm yayınlanmış bloglar getiriliyor");
-        List<Blog> blogs = blogRepository.findByIsPublishedTrueOrderByCreatedAtDesc();
-        return blogs.stream()
-                .map(blog -> modelMapper.map(blog, BlogDto.class))
-                .collect(Collectors.toList());
+        return cache.get(CACHE_PUBLISHED, new TypeReference<List<BlogSummaryDto>>() { },
+                blogRepository::findPublishedSummaries);
     }
 
     @Transactional(readOnly = true)
@@ -37,31 +53,75 @@ public class BlogService {
         log.info("Tüm bloglar getiriliyor (admin)");
         List<Blog> blogs = blogRepository.findAllByOrderByCreatedAtDesc();
         return blogs.stream()
-                .map(blog -> modelMapper.map(blog, BlogDto.class))
+                .map(blogMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public Page<BlogDto> getAllPublishedBlogs(Pageable pageable) {
+    public Page<BlogSummaryDto> getAllPublishedBlogs(Pageable pageable) {
         log.info("Tüm yayınlanmış bloglar sayfalı olarak getiriliyor");
-        Page<Blog> blogs = blogRepository.findByIsPublishedTrueOrderByCreatedAtDesc(pageable);
-        return blogs.map(blog -> modelMapper.map(blog, BlogDto.class));
+        return blogRepository.findPublishedSummaries(Pagination.restrictSort(pageable, SORTABLE_PROPERTIES));
     }
 
     @Transactional(readOnly = true)
-    public Page<BlogDto> searchBlogs(String keyword, Pageable pageable) {
+    public CursorPage<BlogSummaryDto> scrollPublishedBlogs(String cursor, int size) {
+        log.info("Yayınlanmış bloglar imleç ile getiriliyor");
+        PageCursor position = PageCursor.decode(cursor);
+        List<BlogSummaryDto> blogs = blogRepository.findPublishedSummariesBefore(
+                position.getCreatedAt(), position.getId(), Pagination.keysetLimit(size));
+        return Pagination.toCursorPage(blogs, size, blog -> new PageCursor(blog.getCreatedAt(), blog.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BlogSummaryDto> searchBlogs(String keyword, Pageable pageable) {
         log.info("Bloglar aranıyor - keyword: {}", keyword);
-        Page<Blog> blogs = blogRepository.findByKeywordAndIsPublishedTrue(keyword, pageable);
-        return blogs.map(blog -> modelMapper.map(blog, BlogDto.class));
+        List<Long> ids = searchIndex.searchIds(SearchIndex.BLOG, keyword);
+        List<Long> pageIds = ids.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        Map<Long, BlogSummaryDto> blogs = pageIds.isEmpty() ? Map.of()
+                : blogRepository.findPublishedSummariesByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(BlogSummaryDto::getId, Function.identity()));
+        List<BlogSummaryDto> content = pageIds.stream()
+                .map(blogs::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
     }
 
     @Transactional(readOnly = true)
-    public List<BlogDto> getTopBlogsByViews(Pageable pageable) {
+    public List<BlogSummaryDto> getTopBlogsByViews(Pageable pageable) {
         log.info("En çok okunan bloglar getiriliyor");
-        List<Blog> blogs = blogRepository.findTopByViewCountOrderByViewCountDesc(pageable);
-        return blogs.stream()
-                .map(blog -> modelMapper.map(blog, BlogDto.class))
-                .collect(Collectors.toList());
+        int limit = (int) pageable.getOffset() + pageable.getPageSize();
+
+        // Sıralamadaki ilk N'e yazılmamış artışı olan bloglar da eklenir; artışlarla
+        // sıralamaya girebilecek bloglar yalnızca bunlardır
+        Map<Long, BlogSummaryDto> candidates = new LinkedHashMap<>();
+        Set<Long> pendingIds = viewCountBuffer.getPendingIds();
+        List<Long> topIds = leaderboard.top(limit);
+        if (topIds != null) {
+            Set<Long> ids = new HashSet<>(topIds);
+            ids.addAll(pendingIds);
+            blogRepository.findPublishedSummariesByIdIn(ids)
+                    .forEach(blog -> candidates.put(blog.getId(), blog));
+        } else {
+            // Sıralama Redis'ten okunamadı; veritabanında sıralanır
+            blogRepository.findTopSummariesByViewCount(PageRequest.of(0, limit))
+                    .forEach(blog -> candidates.put(blog.getId(), blog));
+            if (!pendingIds.isEmpty()) {
+                blogRepository.findPublishedSummariesByIdIn(pendingIds)
+                        .forEach(blog -> candidates.putIfAbsent(blog.getId(), blog));
+            }
+        }
+
+        candidates.values().forEach(blog ->
+                blog.setViewCount(blog.getViewCount() + viewCountBuffer.getPending(blog.getId())));
+        return candidates.values().stream()
+                .sorted(Comparator.comparingLong(BlogSummaryDto::getViewCount).reversed())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -70,11 +130,10 @@ public class BlogService {
         Blog blog = blogRepository.findByIdAndIsPublishedTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
         
-        // Görüntülenme sayısını artır
-        blog.setViewCount(blog.getViewCount() + 1);
-        blogRepository.save(blog);
+        // Görüntülenme sayısı bellekte artırılır, veritabanına toplu yazılır
+        viewCountBuffer.increment(id);
         
-        return modelMapper.map(blog, BlogDto.class);
+        return withPendingViews(blogMapper.toDto(blog));
     }
 
     @Transactional
@@ -91,9 +150,14 @@ public class BlogService {
                 .build();
 
         Blog savedBlog = blogRepository.save(blog);
+        if (savedBlog.getIsPublished()) {
+            leaderboard.add(savedBlog.getId(), 0L);
+        }
+        searchIndex.refresh(SearchIndex.BLOG, savedBlog.getId());
+        cache.evict(CACHE_PUBLISHED);
         log.info("Blog başarıyla oluşturuldu - ID: {}", savedBlog.getId());
         
-        return modelMapper.map(savedBlog, BlogDto.class);
+        return blogMapper.toDto(savedBlog);
     }
 
     @Transactional
@@ -110,9 +174,16 @@ public class BlogService {
         if (request.getIsPublished() != null) blog.setIsPublished(request.getIsPublished());
 
         Blog updatedBlog = blogRepository.save(blog);
+        if (updatedBlog.getIsPublished()) {
+            leaderboard.add(id, updatedBlog.getViewCount());
+        } else {
+            leaderboard.remove(id);
+        }
+        searchIndex.refresh(SearchIndex.BLOG, id);
+        cache.evict(CACHE_PUBLISHED);
         log.info("Blog başarıyla güncellendi - ID: {}", id);
         
-        return modelMapper.map(updatedBlog, BlogDto.class);
+        return withPendingViews(blogMapper.toDto(updatedBlog));
     }
 
     @Transactional
@@ -123,6 +194,10 @@ public class BlogService {
                 .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
         
         blogRepository.delete(blog);
+        viewCountBuffer.discard(id);
+        leaderboard.remove(id);
+        searchIndex.refresh(SearchIndex.BLOG, id);
+        cache.evict(CACHE_PUBLISHED);
         log.info("Blog başarıyla silindi - ID: {}", id);
     }
 
@@ -133,7 +208,16 @@ public class BlogService {
 
     @Transactional(readOnly = true)
     public Long getTotalViewCount() {
-        return blogRepository.getTotalViewCount();
+        Long total = blogRepository.getTotalViewCount();
+        return (total != null ? total : 0L) + viewCountBuffer.getTotalPending();
+    }
+
+    /**
+     * Henüz veritabanına yazılmamış görüntülenmeleri de yansıtır
+     */
+    private BlogDto withPendingViews(BlogDto blogDto) {
+        blogDto.setViewCount(blogDto.getViewCount() + viewCountBuffer.getPending(blogDto.getId()));
+        return blogDto;
     }
 }
 
@@ -0,0 +1,41 @@
+package com.smartportfolio.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Kullanıcının oturum hash'indeki tek bir cihaz oturumu.
+ * Redis'te "jti|expiresAt|createdAt|userAgent" biçiminde saklanır.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceSession {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sessionId;
+    private final String refreshTokenId;
+    private final long expiresAt;
+    private final long createdAt;
+    private final String userAgent;
+
+    public boolean isExpired() {
+        return expiresAt < System.currentTimeMillis();
+    }
+
+    String encode() {
+        return refreshTokenId + SEPARATOR + expiresAt + SEPARATOR + createdAt + SEPARATOR
+                + (userAgent != null ? userAgent : "");
+    }
+
+    static DeviceSession decode(String sessionId, String value) {
+        String[] parts = value.split("\\|", 4);
+        return new DeviceSession(
+                sessionId,
+                parts[0],
+                Long.parseLong(parts[1]),
+                Long.parseLong(parts[2]),
+                parts.length > 3 && !parts[3].isEmpty() ? parts[3] : null
+        );
+    }
+}
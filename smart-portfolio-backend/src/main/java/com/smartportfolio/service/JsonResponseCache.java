@@ -0,0 +1,156 @@
+package com.smartportfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public endpoint yanıtlarını serileştirilmiş JSON ve strong ETag ile birlikte tutar.
+ * Her istekte Jackson serileştirmesi tekrarlanmaz; If-None-Match eşleşirse gövdesiz
+ * 304 döner. Eşik değerinden büyük yanıtların gzip'li hali de kayıt oluşturulurken bir
+ * kez üretilir ve Accept-Encoding'e göre sunulur; istek başına sıkıştırma yapılmaz.
+ * Kayıtlar, türetildikleri {@link TwoTierCache} anahtarıyla birlikte düşürülür.
+ */
+@Component
+public class JsonResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, SerializedResponse> responses;
+    private final boolean enabled;
+    private final int compressionMinSize;
+
+    public JsonResponseCache(TwoTierCache twoTierCache,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${public-cache.enabled:true}") boolean enabled,
+                             @Value("${public-cache.local.max-size:1000}") long maxSize,
+                             @Value("${public-cache.local.ttl-ms:60000}") long ttlMs,
+                             @Value("${public-cache.compression.min-size:1024}") int compressionMinSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.compressionMinSize = compressionMinSize;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "publicResponses");
+        twoTierCache.addEvictionListener(responses::invalidate);
+    }
+
+    /**
+     * Anahtarın serileştirilmiş yanıtını döner; istemcideki kopya güncelse 304 döner
+     */
+    public ResponseEntity<byte[]> respond(String key, HttpServletRequest request,
+                                          CacheControl cacheControl, Supplier<?> loader) {
+        SerializedResponse response = enabled
+                ? responses.get(key, k -> serialize(loader.get()))
+                : serialize(loader.get());
+
+        boolean gzip = response.gzipBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // Her kodlama ayrı bir temsil olduğundan ETag'i de ayrıdır
+        String etag = gzip ? response.gzipEtag() : response.etag();
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipBody());
+        }
+        return builder.body(response.body());
+    }
+
+    private SerializedResponse serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            String hash = DigestUtils.md5DigestAsHex(body);
+            byte[] gzipBody = body.length >= compressionMinSize ? gzip(body) : null;
+            return new SerializedResponse(body, "\"" + hash + "\"", gzipBody, "\"" + hash + "-gzip\"");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Accept-Encoding gzip'i (veya *) sıfırdan büyük q değeriyle içeriyorsa true döner
+     */
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag) || value.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record SerializedResponse(byte[] body, String etag, byte[] gzipBody, String gzipEtag) {
+    }
+}
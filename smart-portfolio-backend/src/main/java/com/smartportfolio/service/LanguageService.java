@@ -1,16 +1,20 @@
 package com.smartportfolio.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.smartportfolio.dto.*;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.LanguageMapper;
 import com.smartportfolio.model.Language;
 import com.smartportfolio.repository.LanguageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,32 +23,47 @@ import java.util.stream.Collectors;
 public class LanguageService {
 
     private final LanguageRepository languageRepository;
-    private final ModelMapper modelMapper;
+    private final LanguageMapper languageMapper;
+    private final TwoTierCache cache;
+    private final SuggestionIndex suggestionIndex;
+
+    public static final String CACHE_ALL = "languages:all";
+
+    public static String cacheKey(Long id) {
+        return "languages:id:" + id;
+    }
 
     @Transactional(readOnly = true)
     public List<LanguageDto> getAllLanguages() {
         log.info("Tüm aktif diller getiriliyor");
-        List<Language> languages = languageRepository.findByIsActiveTrueOrderByNameAsc();
-        return languages.stream()
-                .map(language -> modelMapper.map(language, LanguageDto.class))
-                .collect(Collectors.toList());
+        return cache.get(CACHE_ALL, new TypeReference<List<LanguageDto>>() { }, () ->
+                languageRepository.findByIsActiveTrueOrderByNameAsc().stream()
+                        .map(languageMapper::toDto)
+                        .toList());
     }
 
     @Transactional(readOnly = true)
     public List<LanguageDto> searchLanguages(String keyword) {
         log.info("Diller aranıyor - keyword: {}", keyword);
-        List<Language> languages = languageRepository.findByKeywordAndIsActiveTrue(keyword);
-        return languages.stream()
-                .map(language -> modelMapper.map(language, LanguageDto.class))
+        List<Long> ids = suggestionIndex.suggestIds(SuggestionIndex.LANGUAGE, keyword);
+        Map<Long, Language> languages = languageRepository.findAllById(ids).stream()
+                .filter(Language::getIsActive)
+                .collect(Collectors.toMap(Language::getId, Function.identity()));
+        return ids.stream()
+                .map(languages::get)
+                .filter(Objects::nonNull)
+                .map(languageMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public LanguageDto getLanguageById(Long id) {
         log.info("Dil getiriliyor - ID: {}", id);
-        Language language = languageRepository.findByIdAndIsActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Language", "id", id));
-        return modelMapper.map(language, LanguageDto.class);
+        return cache.get(cacheKey(id), new TypeReference<LanguageDto>() { }, () -> {
+            Language language = languageRepository.findByIdAndIsActiveTrue(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Language", "id", id));
+            return languageMapper.toDto(language);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -52,7 +71,7 @@ public class LanguageService {
         log.info("Dil getiriliyor - Code: {}", code);
         Language language = languageRepository.findByCodeIgnoreCaseAndIsActiveTrue(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Language", "code", code));
-        return modelMapper.map(language, LanguageDto.class);
+        return languageMapper.toDto(language);
     }
 
     @Transactional(readOnly = true)
@@ -60,7 +79,7 @@ public class LanguageService {
         log.info("Varsayılan dil getiriliyor");
         Language language = languageRepository.findByIsDefaultTrueAndIsActiveTrue()
                 .orElseThrow(() -> new ResourceNotFoundException("Default Language", "isDefault", true));
-        return modelMapper.map(language, LanguageDto.class);
+        return languageMapper.toDto(language);
     }
 
     @Transactional
@@ -83,6 +102,7 @@ public class LanguageService {
             for (Language lang : defaultLanguages) {
                 lang.setIsDefault(false);
                 languageRepository.save(lang);
+                cache.evict(cacheKey(lang.getId()));
             }
         }
         
@@ -94,9 +114,11 @@ public class LanguageService {
                 .build();
 
         Language savedLanguage = languageRepository.save(language);
+        cache.evict(CACHE_ALL);
+        suggestionIndex.refresh(SuggestionIndex.LANGUAGE);
         log.info("Dil başarıyla oluşturuldu - ID: {}", savedLanguage.getId());
         
-        return modelMapper.map(savedLanguage, LanguageDto.class);
+        return languageMapper.toDto(savedLanguage);
     }
 
     @Transactional
@@ -124,15 +146,18 @@ public class LanguageService {
                 for (Language lang : defaultLanguages) {
                     lang.setIsDefault(false);
                     languageRepository.save(lang);
+                    cache.evict(cacheKey(lang.getId()));
                 }
             }
             language.setIsDefault(request.getIsDefault());
         }
 
         Language updatedLanguage = languageRepository.save(language);
+        cache.evict(CACHE_ALL, cacheKey(id));
+        suggestionIndex.refresh(SuggestionIndex.LANGUAGE);
         log.info("Dil başarıyla güncellendi - ID: {}", id);
         
-        return modelMapper.map(updatedLanguage, LanguageDto.class);
+        return languageMapper.toDto(updatedLanguage);
     }
 
     @Transactional
@@ -144,6 +169,8 @@ public class LanguageService {
         
         language.setIsActive(false);
         languageRepository.save(language);
+        cache.evict(CACHE_ALL, cacheKey(id));
+        suggestionIndex.refresh(SuggestionIndex.LANGUAGE);
         
         log.info("Dil başarıyla silindi - ID: {}", id);
     }
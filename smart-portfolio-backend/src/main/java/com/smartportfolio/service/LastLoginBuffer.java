@@ -0,0 +1,69 @@
+package com.smartportfolio.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Son giriş zamanlarını bellekte biriktirir ve periyodik olarak tek bir JDBC batch
+ * UPDATE ile yazar. Giriş transaction'ı users satırını kilitlemez ve updatedAt
+ * alanı değişmez. Henüz yazılmamış değerler {@link #getPending(Long)} ile okunur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long userId, LocalDateTime lastLogin) {
+        pending.merge(userId, lastLogin, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public LocalDateTime getPending(Long userId) {
+        return pending.get(userId);
+    }
+
+    public void discard(Long userId) {
+        pending.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(Map.copyOf(pending).entrySet());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                ps.setLong(2, entry.getKey());
+            });
+            // Yazım sırasında gelen daha yeni değerler bir sonraki turda yazılır
+            batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+            log.debug("Son giriş zamanları yazıldı - {} kayıt", batch.size());
+        } catch (Exception e) {
+            log.error("Son giriş zamanları yazılırken hata oluştu: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
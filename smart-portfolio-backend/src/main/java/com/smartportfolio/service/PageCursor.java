@@ -0,0 +1,50 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset sayfalamada son görülen kaydın (created_at, id) konumu.
+ * İstemciye "createdAt|id" değerinin base64url kodlanmış hali olarak verilir.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * İlk sayfa için tüm kayıtlardan sonra gelen konum (MySQL DATETIME üst sınırı)
+     */
+    public static final PageCursor START = new PageCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İmleç boşsa ilk sayfanın konumunu döner
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Geçersiz sayfa imleci");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.dto.CursorPage;
+import com.smartportfolio.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sayfalı sorgular için ortak yardımcılar.
+ * <p>
+ * Offset sayfalı listeler (/paged) yalnızca servisin verdiği indeksli sütunlara göre
+ * sıralanabilir; diğer sıralamalar filesort'a düşeceği için reddedilir.
+ * <p>
+ * İmleçli listeler (/scroll) keyset sayfalama kullanır: repository sorguları
+ * {@code created_at <= :createdAt AND (created_at < :createdAt OR id < :id)} koşuluyla
+ * (created_at, id) sırasında imleçten sonraki kayıtları getirir. İlk koşul
+ * (created_at, id) indeksinde aralık taramasını sağlar, ikincisi eşit zamanlı kayıtları
+ * ayırır; sayfa ne kadar derin olursa olsun atlanan satır okunmaz.
+ */
+public final class Pagination {
+
+    // Sayfalı listelerde de geçerlidir; WebConfig Pageable çözümleyicisine uygular
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private Pagination() {
+    }
+
+    /**
+     * İstenen sayfa boyutunu [1, MAX_PAGE_SIZE] aralığına çeker
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Yalnızca indeksli sütunlara göre sıralamaya izin verir; diğer alanlar 400 döner
+     */
+    public static Pageable restrictSort(Pageable pageable, Set<String> sortableProperties) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!sortableProperties.contains(order.getProperty())) {
+                throw new BadRequestException("Bu alana göre sıralama yapılamaz: " + order.getProperty());
+            }
+        }
+        return pageable;
+    }
+
+    /**
+     * Sonraki sayfanın olup olmadığını anlamak için bir fazla kayıt istenir; COUNT sorgusu çalışmaz
+     */
+    public static Pageable keysetLimit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <T> CursorPage<T> toCursorPage(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null)
+                .build();
+    }
+}
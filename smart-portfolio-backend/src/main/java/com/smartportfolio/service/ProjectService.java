@@ -1,18 +1,24 @@
 package com.smartportfolio.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.smartportfolio.dto.*;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.ProjectMapper;
 import com.smartportfolio.model.Project;
 import com.smartportfolio.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,46 +27,84 @@ import java.util.stream.Collectors;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
-    private final ModelMapper modelMapper;
+    private final ProjectMapper projectMapper;
+    private final TwoTierCache cache;
+    private final SearchIndex searchIndex;
+
+    public static final String CACHE_ALL = "projects:all";
+    public static final String CACHE_FEATURED = "projects:featured";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "id");
+
+    public static String cacheKey(Long id) {
+        return "projects:id:" + id;
+    }
 
     @Transactional(readOnly = true)
     public List<ProjectDto> getAllProjects() {
         log.info("Tüm aktif projeler getiriliyor");
-        List<Project> projects = projectRepository.findByIsActiveTrueOrderByCreatedAtDesc();
-        return projects.stream()
-                .map(project -> modelMapper.map(project, ProjectDto.class))
-                .collect(Collectors.toList());
+        return cache.get(CACHE_ALL, new TypeReference<List<ProjectDto>>() { }, () ->
+                projectRepository.findByIsActiveTrueOrderByCreatedAtDesc().stream()
+                        .map(projectMapper::toDto)
+                        .toList());
     }
 
     @Transactional(readOnly = true)
     public Page<ProjectDto> getAllProjects(Pageable pageable) {
         log.info("Tüm aktif projeler sayfalı olarak getiriliyor");
-        Page<Project> projects = projectRepository.findByIsActiveTrueOrderByCreatedAtDesc(pageable);
-        return projects.map(project -> modelMapper.map(project, ProjectDto.class));
+        Page<Project> projects = projectRepository.findByIsActiveTrueOrderByCreatedAtDesc(
+                Pagination.restrictSort(pageable, SORTABLE_PROPERTIES));
+        return projects.map(projectMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDto> scrollProjects(String cursor, int size) {
+        log.info("Projeler imleç ile getiriliyor");
+        PageCursor position = PageCursor.decode(cursor);
+        List<ProjectDto> projects = projectRepository.findActiveBefore(position.getCreatedAt(), position.getId(),
+                        Pagination.keysetLimit(size)).stream()
+                .map(projectMapper::toDto)
+                .toList();
+        return Pagination.toCursorPage(projects, size,
+                project -> new PageCursor(project.getCreatedAt(), project.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<ProjectDto> getFeaturedProjects() {
         log.info("Öne çıkan projeler getiriliyor");
-        List<Project> projects = projectRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc();
-        return projects.stream()
-                .map(project -> modelMapper.map(project, ProjectDto.class))
-                .collect(Collectors.toList());
+        return cache.get(CACHE_FEATURED, new TypeReference<List<ProjectDto>>() { }, () ->
+                projectRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDescIdDesc().stream()
+                        .map(projectMapper::toDto)
+                        .toList());
     }
 
     @Transactional(readOnly = true)
     public Page<ProjectDto> searchProjects(String keyword, Pageable pageable) {
         log.info("Projeler aranıyor - keyword: {}", keyword);
-        Page<Project> projects = projectRepository.findByKeywordAndIsActiveTrue(keyword, pageable);
-        return projects.map(project -> modelMapper.map(project, ProjectDto.class));
+        List<Long> ids = searchIndex.searchIds(SearchIndex.PROJECT, keyword);
+        List<Long> pageIds = ids.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        Map<Long, Project> projects = projectRepository.findAllById(pageIds).stream()
+                .filter(Project::getIsActive)
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<ProjectDto> content = pageIds.stream()
+                .map(projects::get)
+                .filter(Objects::nonNull)
+                .map(projectMapper::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
     }
 
     @Transactional(readOnly = true)
     public ProjectDto getProjectById(Long id) {
         log.info("Proje getiriliyor - ID: {}", id);
-        Project project = projectRepository.findByIdAndIsActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
-        return modelMapper.map(project, ProjectDto.class);
+        return cache.get(cacheKey(id), new TypeReference<ProjectDto>() { }, () -> {
+            Project project = projectRepository.findByIdAndIsActiveTrue(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+            return projectMapper.toDto(project);
+        });
     }
 
     @Transactional
@@ -78,9 +122,11 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        cache.evict(CACHE_ALL, CACHE_FEATURED);
+        searchIndex.refresh(SearchIndex.PROJECT, savedProject.getId());
         log.info("Proje başarıyla oluşturuldu - ID: {}", savedProject.getId());
         
-        return modelMapper.map(savedProject, ProjectDto.class);
+        return projectMapper.toDto(savedProject);
     }
 
     @Transactional
@@ -99,9 +145,11 @@ public class ProjectService {
         if (request.getIsFeatured() != null) project.setIsFeatured(request.getIsFeatured());
 
         Project updatedProject = projectRepository.save(project);
+        cache.evict(CACHE_ALL, CACHE_FEATURED, cacheKey(id));
+        searchIndex.refresh(SearchIndex.PROJECT, id);
         log.info("Proje başarıyla güncellendi - ID: {}", id);
         
-        return modelMapper.map(updatedProject, ProjectDto.class);
+        return projectMapper.toDto(updatedProject);
     }
 
     @Transactional
@@ -113,6 +161,8 @@ public class ProjectService {
         
         project.setIsActive(false);
         projectRepository.save(project);
+        cache.evict(CACHE_ALL, CACHE_FEATURED, cacheKey(id));
+        searchIndex.refresh(SearchIndex.PROJECT, id);
         
         log.info("Proje başarıyla silindi - ID: {}", id);
     }
@@ -0,0 +1,116 @@
+package com.smartportfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * İstemci anahtarı başına hız sınırlayıcı. Varsayılan olarak node içinde kilitsiz
+ * token bucket kullanır; birden fazla node için Redis üzerinde kayan pencere
+ * seçilebilir. Redis çağrıları devre kesiciden geçer; Redis'e ulaşılamazsa veya devre
+ * açıksa komut zaman aşımı beklenmeden yerel sınırlayıcıya düşülür.
+ */
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/sliding-window.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final boolean distributed;
+
+    // Anahtar başına "teorik varış zamanı" (GCRA); her bucket tek bir AtomicLong ile CAS'lanır
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(StringRedisTemplate stringRedisTemplate,
+                       RedisCircuitBreaker circuitBreaker,
+                       @Value("${rate-limit.backend:local}") String backend,
+                       @Value("${rate-limit.max-keys:100000}") long maxKeys) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.distributed = "redis".equalsIgnoreCase(backend);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    /**
+     * Limit yapılandırmasını açılışta doğrular; sıfır kapasite veya pencere geçersizdir
+     */
+    public static void validate(String name, int capacity, long windowMs) {
+        if (capacity <= 0 || windowMs <= 0) {
+            throw new IllegalStateException("Geçersiz hız sınırı (" + name + "): capacity ve window-ms pozitif olmalı");
+        }
+    }
+
+    /**
+     * Pencere başına en fazla {@code capacity} isteğe izin verir. İzin verilirse 0,
+     * aksi halde tekrar denemeden önce beklenmesi gereken süreyi milisaniye olarak döner.
+     */
+    public long tryAcquire(String key, int capacity, long windowMs) {
+        return acquire(key, capacity, windowMs, true);
+    }
+
+    /**
+     * {@link #tryAcquire} ile aynı sonucu döner ancak hak tüketmez
+     */
+    public long peek(String key, int capacity, long windowMs) {
+        return acquire(key, capacity, windowMs, false);
+    }
+
+    /**
+     * Anahtarın sayacını sıfırlar
+     */
+    public void reset(String key) {
+        buckets.invalidate(key);
+        if (distributed) {
+            circuitBreaker.run("rateLimitReset", () -> stringRedisTemplate.delete(KEY_PREFIX + key));
+        }
+    }
+
+    private long acquire(String key, int capacity, long windowMs, boolean consume) {
+        if (!distributed) {
+            return acquireLocal(key, capacity, windowMs, consume);
+        }
+        return circuitBreaker.call("rateLimit", () -> {
+            Long retryAfterMs = stringRedisTemplate.execute(SLIDING_WINDOW_SCRIPT,
+                    List.of(KEY_PREFIX + key),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(windowMs),
+                    String.valueOf(capacity), consume ? UUID.randomUUID().toString() : "");
+            return retryAfterMs != null ? retryAfterMs : 0L;
+        }, () -> acquireLocal(key, capacity, windowMs, consume));
+    }
+
+    private long acquireLocal(String key, int capacity, long windowMs, boolean consume) {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        long emissionInterval = windowNanos / capacity;
+        AtomicLong state = buckets.get(key, k -> new AtomicLong(System.nanoTime() - windowNanos));
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = state.get();
+            long newTat = Math.max(tat, now) + emissionInterval;
+            long overflow = newTat - now - windowNanos;
+            if (overflow > 0) {
+                return Math.max(TimeUnit.NANOSECONDS.toMillis(overflow), 1);
+            }
+            if (!consume || state.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.smartportfolio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Redis çağrıları için devre kesici. Art arda belirli sayıda hata alınınca devre
+ * açılır ve çağrılar Redis'e gitmeden yedek davranışa düşer; bekleme süresi
+ * dolunca tek bir deneme isteğiyle Redis tekrar yoklanır.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final boolean failOpen;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    private final Counter failureCounter;
+    private final Counter shortCircuitCounter;
+
+    public RedisCircuitBreaker(MeterRegistry meterRegistry,
+                               @Value("${redis.resilience.failure-threshold:5}") int failureThreshold,
+                               @Value("${redis.resilience.open-duration-ms:10000}") long openDurationMs,
+                               @Value("${redis.resilience.fail-mode:open}") String failMode) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.failOpen = !"closed".equalsIgnoreCase(failMode);
+
+        this.failureCounter = Counter.builder("redis.operation.failures").register(meterRegistry);
+        this.shortCircuitCounter = Counter.builder("redis.circuit.short-circuited").register(meterRegistry);
+        Gauge.builder("redis.circuit.state", state, s -> s.get().ordinal())
+                .description("0: kapalı, 1: açık, 2: yarı açık")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Redis erişilemezken güvenlik kontrollerinin isteği geçirip geçirmeyeceği
+     */
+    public boolean isFailOpen() {
+        return failOpen;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Redis gerektiren ve yedek davranışı olmayan işlemler reddedildiğinde istemciye önerilen bekleme süresi
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(openDurationMs));
+    }
+
+    /**
+     * İşlemi devre kapalıysa çalıştırır. Devre açıksa veya Redis erişim hatası olursa yedek
+     * değeri döner. Diğer hatalar (ör. dönen değerin çözümlenememesi) Redis'in sağlığıyla
+     * ilgili olmadığından devreyi açmaz ve çağırana iletilir.
+     */
+    public <T> T call(String operationName, Supplier<T> operation, Supplier<T> fallback) {
+        if (!allowRequest()) {
+            shortCircuitCounter.increment();
+            return fallback.get();
+        }
+        try {
+            T result = operation.get();
+            onSuccess();
+            return result;
+        } catch (DataAccessException e) {
+            onFailure();
+            log.error("Redis işlemi başarısız ({}): {}", operationName, e.getMessage());
+            return fallback.get();
+        }
+    }
+
+    public void run(String operationName, Runnable operation) {
+        call(operationName, () -> {
+            operation.run();
+            return null;
+        }, () -> null);
+    }
+
+    private boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            // Yalnızca bir istek deneme için geçirilir
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis devre kesicisi kapandı");
+        }
+    }
+
+    private void onFailure() {
+        failureCounter.increment();
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Redis devre kesicisi açıldı; {} ms boyunca yedek davranış kullanılacak", openDurationMs);
+            }
+        }
+    }
+}
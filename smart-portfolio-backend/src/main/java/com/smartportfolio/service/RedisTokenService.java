@@ -1,10 +1,25 @@
 package com.smartportfolio.service;
 
+import com.smartportfolio.exception.ServiceBusyException;
+import com.smartportfolio.security.IssuedToken;
+import com.smartportfolio.security.VerifiedToken;
+import com.smartportfolio.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -12,89 +27,288 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class RedisTokenService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklistNearCache blacklistNearCache;
+    private final RedisCircuitBreaker circuitBreaker;
     
-    private static final String BLACKLIST_PREFIX = "blacklist:token:";
-    private static final String REFRESH_TOKEN_PREFIX = "refresh:token:";
+    // Anahtarlar token'ın tamamı yerine sabit uzunluktaki kimliğini (jti) içerir
+    static final String BLACKLIST_PREFIX = "blacklist:jti:";
+    // Sonlandırılmış cihaz oturumları; bu oturumlara bağlı access token'lar da reddedilir
+    static final String SESSION_BLACKLIST_PREFIX = "blacklist:sid:";
+    private static final String LEGACY_BLACKLIST_PREFIX = "blacklist:token:";
+    private static final String SESSION_PREFIX = "sessions:";
+    private static final String BLACKLISTED = "1";
+
+    // Birden fazla adımı tek round trip'te ve atomik olarak çalıştıran script'ler
+    private static final RedisScript<Long> ROTATE_REFRESH_TOKEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rotate-refresh-token.lua"), Long.class);
+    private static final RedisScript<Long> LOGOUT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/logout.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOKE_SESSIONS_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/revoke-sessions.lua"), List.class);
+
+    @Value("${jwt.expiration}")
+    private long accessExpirationMs;
+
+    // Redis erişilemezken açılan ve henüz Redis'e yazılamamış oturumlar; Redis
+    // döndüğünde yazılır. Rotasyon ve sonlandırma Redis olmadan yapılmaz (503).
+    private final Map<String, PendingSession> pendingSessions = new ConcurrentHashMap<>();
 
     /**
      * Token'ı blacklist'e ekler
      */
-    public void blacklistToken(String token, long expirationTimeInMs) {
-        try {
-            String key = BLACKLIST_PREFIX + token;
-            redisTemplate.opsForValue().set(key, "blacklisted", expirationTimeInMs, TimeUnit.MILLISECONDS);
+    public void blacklistToken(VerifiedToken token, long expirationTimeInMs) {
+        // Doğrulanmış token önbelleğinden hemen çıkar
+        verifiedTokenCache.evict(token.getToken());
+        // Yerel kopyaya Redis'ten bağımsız olarak eklenir; Redis kapalıyken de bu node'da geçerlidir
+        String event = blacklistNearCache.addLocal(token.getTokenId(), expirationTimeInMs);
+        circuitBreaker.run("blacklistToken", () -> {
+            String key = BLACKLIST_PREFIX + token.getTokenId();
+            stringRedisTemplate.opsForValue().set(key, BLACKLISTED, expirationTimeInMs, TimeUnit.MILLISECONDS);
+            stringRedisTemplate.convertAndSend(TokenBlacklistNearCache.CHANNEL, event);
             log.info("Token blacklist'e eklendi");
-        } catch (Exception e) {
-            log.error("Token blacklist'e eklenirken hata oluştu: {}", e.getMessage());
-        }
+        });
     }
 
     /**
-     * Token'ın blacklist'te olup olmadığını kontrol eder
+     * Token'ın veya cihaz oturumunun blacklist'te olup olmadığını kontrol eder. Yerel
+     * kopya senkronize ise (eksiksiz ve pub/sub aboneliği çalışıyor) yalnızca olası
+     * eşleşmeler Redis'te doğrulanır. Redis erişilemezse fail-open modunda yerel
+     * kopyanın cevabı, fail-closed modunda "blacklist'te" döner.
      */
-    public boolean isTokenBlacklisted(String token) {
-        try {
-            String key = BLACKLIST_PREFIX + token;
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
-        } catch (Exception e) {
-            log.error("Token blacklist kontrolü sırasında hata oluştu: {}", e.getMessage());
+    public boolean isTokenBlacklisted(VerifiedToken token) {
+        if (token.isLegacy()) {
+            return isLegacyTokenBlacklisted(token.getToken());
+        }
+        String sessionEntry = token.getSessionId() != null
+                ? TokenBlacklistNearCache.SESSION_ENTRY_PREFIX + token.getSessionId()
+                : null;
+        boolean mightContain = blacklistNearCache.mightContain(token.getTokenId())
+                || (sessionEntry != null && blacklistNearCache.mightContain(sessionEntry));
+        if (blacklistNearCache.isSynced() && !mightContain) {
             return false;
         }
+        List<String> keys = token.getSessionId() != null
+                ? List.of(BLACKLIST_PREFIX + token.getTokenId(), SESSION_BLACKLIST_PREFIX + token.getSessionId())
+                : List.of(BLACKLIST_PREFIX + token.getTokenId());
+        return circuitBreaker.call("isTokenBlacklisted",
+                () -> {
+                    Long existing = stringRedisTemplate.countExistingKeys(keys);
+                    return existing != null && existing > 0;
+                },
+                () -> circuitBreaker.isFailOpen() ? mightContain : true);
+    }
+
+    /**
+     * jti claim'i olmadan üretilmiş token'lar eski anahtar biçimiyle blacklist'e eklenmişti.
+     * Bu token'ların süresi dolduğunda (jwt.expiration) kaldırılabilir.
+     */
+    private boolean isLegacyTokenBlacklisted(String token) {
+        return circuitBreaker.call("isLegacyTokenBlacklisted",
+                () -> Boolean.TRUE.equals(stringRedisTemplate.hasKey(LEGACY_BLACKLIST_PREFIX + token))
+                        || Boolean.TRUE.equals(stringRedisTemplate.hasKey(BLACKLIST_PREFIX + VerifiedToken.idOf(token))),
+                () -> !circuitBreaker.isFailOpen());
+    }
+
+    /**
+     * Yeni cihaz oturumunu kaydeder. Alan yazımı ve anahtar TTL'i tek pipeline'da gönderilir.
+     * Redis erişilemezse oturum bekleyen oturumlara eklenir ve Redis döndüğünde yazılır.
+     */
+    public void saveSession(Long userId, DeviceSession session) {
+        PendingSession pending = new PendingSession(userId, session);
+        if (!writeSession(pending)) {
+            pendingSessions.put(localSessionKey(userId, session.getSessionId()), pending);
+            log.warn("Cihaz oturumu Redis'e yazılamadı, tekrar denenecek - User ID: {}", userId);
+        }
+    }
+
+    /**
+     * Redis erişilemezken açılmış oturumları yazar
+     */
+    @Scheduled(fixedDelayString = "${redis.resilience.session-retry-interval-ms:1000}")
+    public void flushPendingSessions() {
+        pendingSessions.forEach(this::flushPendingSession);
+    }
+
+    private boolean flushPendingSession(String localKey, PendingSession pending) {
+        if (pending.session().isExpired() || writeSession(pending)) {
+            pendingSessions.remove(localKey, pending);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean writeSession(PendingSession pending) {
+        DeviceSession session = pending.session();
+        long expirationTimeInMs = session.getExpiresAt() - System.currentTimeMillis();
+        return circuitBreaker.call("saveSession", () -> {
+            String key = SESSION_PREFIX + pending.userId();
+            byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+            byte[] rawField = session.getSessionId().getBytes(StandardCharsets.UTF_8);
+            byte[] rawValue = session.encode().getBytes(StandardCharsets.UTF_8);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hSet(rawKey, rawField, rawValue);
+                connection.keyCommands().pExpire(rawKey, Math.max(expirationTimeInMs, 1));
+                return null;
+            });
+            log.info("Cihaz oturumu Redis'e kaydedildi - User ID: {}", pending.userId());
+            return true;
+        }, () -> false);
+    }
+
+    /**
+     * Kullanıcının süresi dolmamış cihaz oturumlarını getirir (tek HGETALL)
+     */
+    public List<DeviceSession> getSessions(Long userId) {
+        return circuitBreaker.call("getSessions", () -> {
+            Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(SESSION_PREFIX + userId);
+            return entries.entrySet().stream()
+                    .map(entry -> DeviceSession.decode(entry.getKey().toString(), entry.getValue().toString()))
+                    .filter(session -> !session.isExpired())
+                    .sorted(Comparator.comparingLong(DeviceSession::getCreatedAt).reversed())
+                    .toList();
+        }, List::of);
     }
 
     /**
-     * Refresh token'ı Redis'e kaydeder
+     * Oturumun refresh token kimliği beklenen değerse yenisiyle değiştirir (compare-and-swap).
+     * Aynı refresh token ile gelen eşzamanlı isteklerden yalnızca biri başarılı olur.
+     * Redis erişilemezse rotasyon yapılmaz ve 503 döner; eski refresh token geçerli kalır.
      */
-    public void saveRefreshToken(Long userId, String refreshToken, long expirationTimeInMs) {
-        try {
-            String key = REFRESH_TOKEN_PREFIX + userId;
-            redisTemplate.opsForValue().set(key, refreshToken, expirationTimeInMs, TimeUnit.MILLISECONDS);
-            log.info("Refresh token Redis'e kaydedildi - User ID: {}", userId);
-        } catch (Exception e) {
-            log.error("Refresh token kaydedilirken hata oluştu: {}", e.getMessage());
+    public boolean rotateRefreshToken(Long userId, String sessionId, String expectedTokenId,
+                                      IssuedToken newRefreshToken) {
+        String localKey = localSessionKey(userId, sessionId);
+        PendingSession pending = pendingSessions.get(localKey);
+        if (pending != null && !flushPendingSession(localKey, pending)) {
+            throw unavailable();
         }
+        return circuitBreaker.call("rotateRefreshToken", () -> {
+            Long result = stringRedisTemplate.execute(ROTATE_REFRESH_TOKEN_SCRIPT,
+                    List.of(SESSION_PREFIX + userId),
+                    sessionId, expectedTokenId, newRefreshToken.getTokenId(),
+                    String.valueOf(newRefreshToken.getExpiration().getTime()),
+                    String.valueOf(newRefreshToken.getRemainingExpirationTime()),
+                    String.valueOf(System.currentTimeMillis()));
+            return Long.valueOf(1L).equals(result);
+        }, () -> {
+            throw unavailable();
+        });
     }
 
     /**
-     * Kullanıcının refresh token'ını getirir
+     * Access token'ı blacklist'e ekler ve token'ın cihaz oturumunu siler; tek round trip
      */
-    public String getRefreshToken(Long userId) {
-        try {
-            String key = REFRESH_TOKEN_PREFIX + userId;
-            Object token = redisTemplate.opsForValue().get(key);
-            return token != null ? token.toString() : null;
-        } catch (Exception e) {
-            log.error("Refresh token getirilirken hata oluştu: {}", e.getMessage());
-            return null;
+    public void logout(Long userId, VerifiedToken accessToken, long expirationTimeInMs) {
+        verifiedTokenCache.evict(accessToken.getToken());
+        String sessionId = accessToken.getSessionId() != null ? accessToken.getSessionId() : "";
+        String sessionEvent = "";
+        if (!sessionId.isEmpty()) {
+            pendingSessions.remove(localSessionKey(userId, sessionId));
+            // Aynı oturumdan verilmiş diğer access token'lar da reddedilir
+            sessionEvent = blacklistNearCache.addLocal(
+                    TokenBlacklistNearCache.SESSION_ENTRY_PREFIX + sessionId, accessExpirationMs);
         }
+        String event = expirationTimeInMs > 0
+                ? blacklistNearCache.addLocal(accessToken.getTokenId(), expirationTimeInMs)
+                : "";
+        String finalSessionEvent = sessionEvent;
+        circuitBreaker.run("logout", () -> {
+            stringRedisTemplate.execute(LOGOUT_SCRIPT,
+                    List.of(BLACKLIST_PREFIX + accessToken.getTokenId(), SESSION_PREFIX + userId,
+                            SESSION_BLACKLIST_PREFIX + sessionId),
+                    String.valueOf(expirationTimeInMs), TokenBlacklistNearCache.CHANNEL, event, sessionId,
+                    String.valueOf(accessExpirationMs), finalSessionEvent);
+            log.info("Token ve oturum blacklist'e eklendi, cihaz oturumu silindi - User ID: {}", userId);
+        });
+    }
+
+    /**
+     * Tek bir cihaz oturumunu sonlandırır. Oturum kimliği access token süresi boyunca
+     * blacklist'te tutulur; oturuma bağlı access token'lar da hemen reddedilir.
+     * Redis erişilemezse sonlandırma yapılamaz ve 503 döner.
+     */
+    public boolean revokeSession(Long userId, String sessionId) {
+        int removed = circuitBreaker.call("revokeSession",
+                () -> revokeSessions(userId, List.of(sessionId), false).size(),
+                () -> {
+                    throw unavailable();
+                });
+        boolean wasPending = pendingSessions.remove(localSessionKey(userId, sessionId)) != null;
+        log.info("Cihaz oturumu sonlandırıldı - User ID: {}, Session ID: {}", userId, sessionId);
+        return removed > 0 || wasPending;
+    }
+
+    /**
+     * Kullanıcının tüm cihaz oturumlarını sonlandırır ve oturum kimliklerini blacklist'e ekler.
+     * Redis erişilemezse sonlandırma yapılamaz ve 503 döner.
+     */
+    public void revokeAllSessions(Long userId) {
+        String localPrefix = localSessionKey(userId, "");
+        List<String> pendingIds = pendingSessions.keySet().stream()
+                .filter(key -> key.startsWith(localPrefix))
+                .map(key -> key.substring(localPrefix.length()))
+                .toList();
+        // Hash'teki oturumlar script içinde okunur; okuma ve sonlandırma tek atomik adımdır
+        circuitBreaker.call("revokeAllSessions", () -> revokeSessions(userId, pendingIds, true), () -> {
+            throw unavailable();
+        });
+        pendingIds.forEach(sessionId -> pendingSessions.remove(localSessionKey(userId, sessionId)));
+        log.info("Tüm cihaz oturumları sonlandırıldı - User ID: {}", userId);
     }
 
     /**
-     * Kullanıcının refresh token'ını siler
+     * Verilen oturumları, {@code all} ise kullanıcının Redis'teki tüm oturumlarını sonlandırır.
+     * Hash'ten silinen oturum ID'lerini döner.
      */
-    public void deleteRefreshToken(Long userId) {
-        try {
-            String key = REFRESH_TOKEN_PREFIX + userId;
-            redisTemplate.delete(key);
-            log.info("Refresh token silindi - User ID: {}", userId);
-        } catch (Exception e) {
-            log.error("Refresh token silinirken hata oluştu: {}", e.getMessage());
+    private List<String> revokeSessions(Long userId, List<String> sessionIds, boolean all) {
+        if (sessionIds.isEmpty() && !all) {
+            return List.of();
+        }
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(accessExpirationMs));
+        args.add(TokenBlacklistNearCache.CHANNEL);
+        args.add(String.valueOf(System.currentTimeMillis() + accessExpirationMs));
+        args.add(SESSION_BLACKLIST_PREFIX);
+        args.add(all ? "1" : "0");
+        for (String sessionId : sessionIds) {
+            // Yerel kopyaya Redis'ten bağımsız olarak eklenir; yayın diğer node'lar içindir
+            blacklistNearCache.addLocal(TokenBlacklistNearCache.SESSION_ENTRY_PREFIX + sessionId, accessExpirationMs);
+            args.add(sessionId);
         }
+        @SuppressWarnings("unchecked")
+        List<String> removed = stringRedisTemplate.execute(REVOKE_SESSIONS_SCRIPT,
+                List.of(SESSION_PREFIX + userId), args.toArray());
+        if (removed == null) {
+            return List.of();
+        }
+        // Script içinde okunan oturumlar yerel kopyaya da eklenir
+        removed.forEach(sessionId -> blacklistNearCache.addLocal(
+                TokenBlacklistNearCache.SESSION_ENTRY_PREFIX + sessionId, accessExpirationMs));
+        return removed;
     }
 
     /**
      * Token'ı blacklist'ten kaldırır (test için)
      */
-    public void removeFromBlacklist(String token) {
-        try {
-            String key = BLACKLIST_PREFIX + token;
-            redisTemplate.delete(key);
+    public void removeFromBlacklist(String tokenId) {
+        circuitBreaker.run("removeFromBlacklist", () -> {
+            String key = BLACKLIST_PREFIX + tokenId;
+            stringRedisTemplate.delete(key);
+            blacklistNearCache.remove(tokenId);
             log.info("Token blacklist'ten kaldırıldı");
-        } catch (Exception e) {
-            log.error("Token blacklist'ten kaldırılırken hata oluştu: {}", e.getMessage());
-        }
+        });
     }
-}
 
+    private ServiceBusyException unavailable() {
+        return new ServiceBusyException(circuitBreaker.getRetryAfterSeconds());
+    }
+
+    private String localSessionKey(Long userId, String sessionId) {
+        return userId + ":" + sessionId;
+    }
 
+    private record PendingSession(Long userId, DeviceSession session) {
+    }
+}
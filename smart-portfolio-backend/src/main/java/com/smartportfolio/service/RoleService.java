@@ -2,11 +2,13 @@ package com.smartportfolio.service;
 
 import com.smartportfolio.dto.RoleDto;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.RoleMapper;
 import com.smartportfolio.model.Role;
 import com.smartportfolio.repository.RoleRepository;
+import com.smartportfolio.repository.UserRepository;
+import com.smartportfolio.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,14 +21,17 @@ import java.util.stream.Collectors;
 public class RoleService {
 
     private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final UserRepository userRepository;
+    private final AuthzVersionService authzVersionService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RoleMapper roleMapper;
 
     @Transactional(readOnly = true)
     public List<RoleDto> getAllRoles() {
         log.info("Tüm roller getiriliyor");
         List<Role> roles = roleRepository.findAll();
         return roles.stream()
-                .map(role -> modelMapper.map(role, RoleDto.class))
+                .map(roleMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -35,7 +40,7 @@ public class RoleService {
         log.info("Rol getiriliyor - ID: {}", id);
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
-        return modelMapper.map(role, RoleDto.class);
+        return roleMapper.toDto(role);
     }
 
     @Transactional(readOnly = true)
@@ -43,16 +48,16 @@ public class RoleService {
         log.info("Rol getiriliyor - Name: {}", name);
         Role role = roleRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "name", name));
-        return modelMapper.map(role, RoleDto.class);
+        return roleMapper.toDto(role);
     }
 
     @Transactional
     public RoleDto createRole(RoleDto roleDto) {
         log.info("Yeni rol oluşturuluyor: {}", roleDto.getName());
-        Role role = modelMapper.map(roleDto, Role.class);
+        Role role = roleMapper.toEntity(roleDto);
         Role savedRole = roleRepository.save(role);
         log.info("Rol başarıyla oluşturuldu: {}", savedRole.getName());
-        return modelMapper.map(savedRole, RoleDto.class);
+        return roleMapper.toDto(savedRole);
     }
 
     @Transactional
@@ -65,8 +70,13 @@ public class RoleService {
         role.setDescription(roleDto.getDescription());
         
         Role updatedRole = roleRepository.save(role);
+
+        // Bu role sahip kullanıcıların token'larındaki ve önbellekteki yetkiler eskidi
+        List<Long> affectedUserIds = userRepository.findIdsByRoleId(id);
+        authzVersionService.bumpVersions(affectedUserIds);
+        userPrincipalCache.evictAll(affectedUserIds);
         log.info("Rol başarıyla güncellendi - ID: {}", id);
-        return modelMapper.map(updatedRole, RoleDto.class);
+        return roleMapper.toDto(updatedRole);
     }
 
     @Transactional
@@ -74,7 +84,10 @@ public class RoleService {
         log.info("Rol siliniyor - ID: {}", id);
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+        List<Long> affectedUserIds = userRepository.findIdsByRoleId(id);
         roleRepository.delete(role);
+        authzVersionService.bumpVersions(affectedUserIds);
+        userPrincipalCache.evictAll(affectedUserIds);
         log.info("Rol başarıyla silindi - ID: {}", id);
     }
 }
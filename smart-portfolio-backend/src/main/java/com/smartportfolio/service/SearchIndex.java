@@ -0,0 +1,342 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.dto.SearchResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Yayınlanmış blogların, aktif projelerin ve yeteneklerin bellek içi ters dizini.
+ * Sorgular BM25 ile puanlanır; sorgu terimleri dizindeki terimlerin önekiyse de eşleşir
+ * (Türkçe ekler için, ör. "proje" → "projeler"). Servislerdeki yazma işlemleri commit
+ * sonrasında ilgili kaydı veritabanından yeniden yükler ve olayı diğer node'lara yayınlar.
+ * Açılışta ve periyodik olarak dizin veritabanından yeniden oluşturulur.
+ */
+@Component
+@Slf4j
+public class SearchIndex implements MessageListener {
+
+    public static final String CHANNEL = "search:events";
+
+    public static final String BLOG = "blog";
+    public static final String PROJECT = "project";
+    public static final String SKILL = "skill";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Önek eşleşmeleri tam eşleşmeden daha düşük puan alır
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final int maxPrefixExpansions;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Source> sources = Map.of(
+            BLOG, new Source("SELECT id, title, summary, content FROM blogs WHERE is_published = true",
+                    (rs, rowNum) -> document(BLOG, rs.getLong("id"), rs.getString("title"),
+                            rs.getString("summary"), rs.getString("content"))),
+            PROJECT, new Source("SELECT id, title, description FROM projects WHERE is_active = true",
+                    (rs, rowNum) -> document(PROJECT, rs.getLong("id"), rs.getString("title"),
+                            null, rs.getString("description"))),
+            SKILL, new Source("SELECT id, name, category FROM skills WHERE is_active = true",
+                    (rs, rowNum) -> document(SKILL, rs.getLong("id"), rs.getString("name"),
+                            rs.getString("category"), null)));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    // Yeniden oluşturma sürerken güncellenen kayıtlar; yeni dizine geçildikten sonra tekrar yüklenir
+    private final Set<String> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public SearchIndex(JdbcTemplate jdbcTemplate,
+                       StringRedisTemplate stringRedisTemplate,
+                       RedisCircuitBreaker circuitBreaker,
+                       @Value("${search.max-prefix-expansions:50}") int maxPrefixExpansions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Sorguyu BM25 ile puanlar ve en yüksek puanlı sonuçları döner
+     *
+     * @param types boşsa tüm içerik türlerinde arar
+     */
+    public List<SearchResultDto> search(String query, Collection<String> types, int limit) {
+        List<Scored> hits = score(query, types);
+        return hits.stream()
+                .limit(limit)
+                .map(hit -> SearchResultDto.builder()
+                        .type(hit.document().type())
+                        .id(hit.document().id())
+                        .title(hit.document().title())
+                        .snippet(hit.document().snippet())
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Tek bir içerik türünde eşleşen kayıtların ID'lerini puan sırasıyla döner
+     */
+    public List<Long> searchIds(String type, String query) {
+        return score(query, List.of(type)).stream()
+                .map(hit -> hit.document().id())
+                .toList();
+    }
+
+    /**
+     * Kaydı commit sonrasında veritabanından yeniden yükler ve diğer node'lara bildirir
+     */
+    public void refresh(String type, Long id) {
+        Runnable action = () -> {
+            reload(type, id);
+            circuitBreaker.run("searchRefresh", () ->
+                    stringRedisTemplate.convertAndSend(CHANNEL, nodeId + " " + key(type, id)));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        int separator = parts.length == 2 ? parts[1].indexOf(':') : -1;
+        if (separator < 0 || !sources.containsKey(parts[1].substring(0, separator))) {
+            log.warn("Tanınmayan arama dizini olayı alındı");
+            return;
+        }
+        // Bu node kaydı yayınlamadan önce zaten yeniden yükledi
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        reload(parts[1].substring(0, separator), Long.valueOf(parts[1].substring(separator + 1)));
+    }
+
+    /**
+     * Dizini yeni bir segmentte oluşturur ve tek adımda değiştirir; aramalar bu sırada eski dizinden yapılır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.rebuild-interval-ms:3600000}",
+            initialDelayString = "${search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        rebuilding = true;
+        try {
+            Segment fresh = new Segment();
+            sources.values().forEach(source ->
+                    jdbcTemplate.query(source.sql(), source.rowMapper()).forEach(fresh::put));
+
+            lock.writeLock().lock();
+            try {
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Arama dizini oluşturuldu - {} kayıt, {} terim", fresh.documents.size(), fresh.postings.size());
+        } catch (Exception e) {
+            log.error("Arama dizini oluşturulamadı: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            for (String key : List.copyOf(refreshedDuringRebuild)) {
+                refreshedDuringRebuild.remove(key);
+                int separator = key.indexOf(':');
+                reload(key.substring(0, separator), Long.valueOf(key.substring(separator + 1)));
+            }
+        }
+    }
+
+    private void reload(String type, Long id) {
+        if (rebuilding) {
+            refreshedDuringRebuild.add(key(type, id));
+        }
+        try {
+            Source source = sources.get(type);
+            List<IndexedDocument> rows = jdbcTemplate.query(source.sql() + " AND id = ?", source.rowMapper(), id);
+            lock.writeLock().lock();
+            try {
+                if (rows.isEmpty()) {
+                    segment.remove(key(type, id));
+                } else {
+                    segment.put(rows.get(0));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            // Kayıt bir sonraki yeniden oluşturmada düzelir
+            log.error("Arama dizini kaydı güncellenemedi ({}:{}): {}", type, id, e.getMessage());
+        }
+    }
+
+    private List<Scored> score(String query, Collection<String> types) {
+        List<String> terms = TurkishTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Double> totals = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            for (String term : terms.stream().distinct().toList()) {
+                // Aynı sorgu terimi bir belgede birden fazla dizin terimiyle eşleşirse en yüksek puan sayılır
+                Map<String, Double> best = new HashMap<>();
+                int expansions = 0;
+                for (Map.Entry<String, Map<String, Integer>> entry
+                        : current.postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    boolean exact = entry.getKey().equals(term);
+                    // Tam eşleşme aralığın ilk terimidir; sınır yalnızca önek genişletmelerini keser
+                    if (!exact && expansions++ >= maxPrefixExpansions) {
+                        break;
+                    }
+                    double weight = exact ? 1.0 : PREFIX_WEIGHT;
+                    double idf = current.idf(entry.getValue().size());
+                    entry.getValue().forEach((docKey, tf) -> {
+                        IndexedDocument document = current.documents.get(docKey);
+                        if (!types.isEmpty() && !types.contains(document.type())) {
+                            return;
+                        }
+                        double score = weight * idf * current.termScore(document, tf);
+                        best.merge(docKey, score, Math::max);
+                    });
+                }
+                best.forEach((docKey, score) -> totals.merge(docKey, score, Double::sum));
+            }
+
+            List<Scored> hits = new ArrayList<>(totals.size());
+            totals.forEach((docKey, score) -> hits.add(new Scored(current.documents.get(docKey), score)));
+            hits.sort(Comparator.comparingDouble(Scored::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static IndexedDocument document(String type, long id, String title, String summary, String body) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, title, TITLE_WEIGHT)
+                + addTerms(termFrequencies, summary, SUMMARY_WEIGHT)
+                + addTerms(termFrequencies, body, BODY_WEIGHT);
+        String snippet = summary != null && !summary.isBlank() ? summary : body;
+        if (snippet != null && snippet.length() > SNIPPET_LENGTH) {
+            snippet = snippet.substring(0, SNIPPET_LENGTH);
+        }
+        return new IndexedDocument(type, id, title, snippet, length, termFrequencies);
+    }
+
+    /**
+     * Alan ağırlığı terim frekansına ve belge uzunluğuna çarpan olarak eklenir (BM25F)
+     */
+    private static int addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        List<String> tokens = TurkishTokenizer.tokenize(text);
+        tokens.forEach(token -> termFrequencies.merge(token, weight, Integer::sum));
+        return tokens.size() * weight;
+    }
+
+    private static String key(String type, long id) {
+        return type + ":" + id;
+    }
+
+    private record Source(String sql, RowMapper<IndexedDocument> rowMapper) {
+    }
+
+    private record IndexedDocument(String type, long id, String title, String snippet,
+                                   int length, Map<String, Integer> termFrequencies) {
+    }
+
+    private record Scored(IndexedDocument document, double score) {
+    }
+
+    /**
+     * Ters dizin ve BM25 istatistikleri. Uzunluk normalizasyonu içerik türü bazında yapılır;
+     * uzun blog yazıları kısa proje açıklamalarını bastırmaz.
+     */
+    private static class Segment {
+
+        private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+        private final Map<String, IndexedDocument> documents = new HashMap<>();
+        private final Map<String, Long> totalLengths = new HashMap<>();
+        private final Map<String, Integer> documentCounts = new HashMap<>();
+
+        void put(IndexedDocument document) {
+            String docKey = key(document.type(), document.id());
+            remove(docKey);
+            documents.put(docKey, document);
+            document.termFrequencies().forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(docKey, tf));
+            totalLengths.merge(document.type(), (long) document.length(), Long::sum);
+            documentCounts.merge(document.type(), 1, Integer::sum);
+        }
+
+        void remove(String docKey) {
+            IndexedDocument document = documents.remove(docKey);
+            if (document == null) {
+                return;
+            }
+            document.termFrequencies().keySet().forEach(term -> {
+                Map<String, Integer> docs = postings.get(term);
+                docs.remove(docKey);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+            totalLengths.merge(document.type(), (long) -document.length(), Long::sum);
+            documentCounts.merge(document.type(), -1, Integer::sum);
+        }
+
+        double idf(int documentFrequency) {
+            int n = documents.size();
+            return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        double termScore(IndexedDocument document, int tf) {
+            int count = documentCounts.getOrDefault(document.type(), 0);
+            double averageLength = count > 0 ? (double) totalLengths.get(document.type()) / count : 1.0;
+            double norm = K1 * (1 - B + B * document.length() / Math.max(averageLength, 1.0));
+            return tf * (K1 + 1) / (tf + norm);
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.smartportfolio.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.smartportfolio.dto.*;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.SkillMapper;
 import com.smartportfolio.model.Skill;
 import com.smartportfolio.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,15 +23,24 @@ import java.util.stream.Collectors;
 public class SkillService {
 
     private final SkillRepository skillRepository;
-    private final ModelMapper modelMapper;
+    private final SkillMapper skillMapper;
+    private final TwoTierCache cache;
+    private final SearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+
+    public static final String CACHE_ALL = "skills:all";
+
+    public static String cacheKey(Long id) {
+        return "skills:id:" + id;
+    }
 
     @Transactional(readOnly = true)
     public List<SkillDto> getAllSkills() {
         log.info("Tüm aktif yetenekler getiriliyor");
-        List<Skill> skills = skillRepository.findByIsActiveTrueOrderBySortOrderAscNameAsc();
-        return skills.stream()
-                .map(skill -> modelMapper.map(skill, SkillDto.class))
-                .collect(Collectors.toList());
+        return cache.get(CACHE_ALL, new TypeReference<List<SkillDto>>() { }, () ->
+                skillRepository.findByIsActiveTrueOrderBySortOrderAscNameAsc().stream()
+                        .map(skillMapper::toDto)
+                        .toList());
     }
 
     @Transactional(readOnly = true)
@@ -35,25 +48,32 @@ public class SkillService {
         log.info("Yetenekler seviyeye göre getiriliyor - Level: {}", level);
         List<Skill> skills = skillRepository.findByLevelAndIsActiveTrueOrderBySortOrderAscNameAsc(level);
         return skills.stream()
-                .map(skill -> modelMapper.map(skill, SkillDto.class))
+                .map(skillMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<SkillDto> searchSkills(String keyword) {
         log.info("Yetenekler aranıyor - keyword: {}", keyword);
-        List<Skill> skills = skillRepository.findByKeywordAndIsActiveTrue(keyword);
-        return skills.stream()
-                .map(skill -> modelMapper.map(skill, SkillDto.class))
+        List<Long> ids = searchIndex.searchIds(SearchIndex.SKILL, keyword);
+        Map<Long, Skill> skills = skillRepository.findAllById(ids).stream()
+                .filter(Skill::getIsActive)
+                .collect(Collectors.toMap(Skill::getId, Function.identity()));
+        return ids.stream()
+                .map(skills::get)
+                .filter(Objects::nonNull)
+                .map(skillMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public SkillDto getSkillById(Long id) {
         log.info("Yetenek getiriliyor - ID: {}", id);
-        Skill skill = skillRepository.findByIdAndIsActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
-        return modelMapper.map(skill, SkillDto.class);
+        return cache.get(cacheKey(id), new TypeReference<SkillDto>() { }, () -> {
+            Skill skill = skillRepository.findByIdAndIsActiveTrue(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Skill", "id", id));
+            return skillMapper.toDto(skill);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -61,7 +81,7 @@ public class SkillService {
         log.info("Yetenek getiriliyor - Name: {}", name);
         Skill skill = skillRepository.findByNameIgnoreCaseAndIsActiveTrue(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Skill", "name", name));
-        return modelMapper.map(skill, SkillDto.class);
+        return skillMapper.toDto(skill);
     }
 
     @Transactional
@@ -83,9 +103,12 @@ public class SkillService {
                 .build();
 
         Skill savedSkill = skillRepository.save(skill);
+        cache.evict(CACHE_ALL);
+        searchIndex.refresh(SearchIndex.SKILL, savedSkill.getId());
+        suggestionIndex.refresh(SuggestionIndex.SKILL);
         log.info("Yetenek başarıyla oluşturuldu - ID: {}", savedSkill.getId());
         
-        return modelMapper.map(savedSkill, SkillDto.class);
+        return skillMapper.toDto(savedSkill);
     }
 
     @Transactional
@@ -110,9 +133,12 @@ public class SkillService {
         if (request.getSortOrder() != null) skill.setSortOrder(request.getSortOrder());
 
         Skill updatedSkill = skillRepository.save(skill);
+        cache.evict(CACHE_ALL, cacheKey(id));
+        searchIndex.refresh(SearchIndex.SKILL, id);
+        suggestionIndex.refresh(SuggestionIndex.SKILL);
         log.info("Yetenek başarıyla güncellendi - ID: {}", id);
         
-        return modelMapper.map(updatedSkill, SkillDto.class);
+        return skillMapper.toDto(updatedSkill);
     }
 
     @Transactional
@@ -124,6 +150,9 @@ public class SkillService {
         
         skill.setIsActive(false);
         skillRepository.save(skill);
+        cache.evict(CACHE_ALL, cacheKey(id));
+        searchIndex.refresh(SearchIndex.SKILL, id);
+        suggestionIndex.refresh(SuggestionIndex.SKILL);
         
         log.info("Yetenek başarıyla silindi - ID: {}", id);
     }
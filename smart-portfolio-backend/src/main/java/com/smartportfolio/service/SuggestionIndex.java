@@ -0,0 +1,241 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.dto.SuggestionDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Aktif yetenek adları/kategorileri ve dil kodları/adları için otomatik tamamlama dizini.
+ * Normalize edilmiş anahtarlar sıralı bir dizide tutulur; önek araması ikili arama ile
+ * başlangıç konumunu bulur ve yalnızca eşleşen aralığı dolaşır. Okumalar kilitsizdir,
+ * yazmalar yeni bir dizi oluşturup tek referansı değiştirir.
+ * Yetenek ve dil servisleri yazma işlemlerinden sonra {@link #refresh(String)} çağırır; ilgili tür
+ * commit sonrasında arka planda yeniden yüklenir ve olay diğer node'lara yayınlanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionIndex implements MessageListener {
+
+    public static final String CHANNEL = "suggestion:events";
+
+    public static final String SKILL = "skill";
+    public static final String LANGUAGE = "language";
+
+    private static final String SKILL_SQL = "SELECT id, name, category FROM skills WHERE is_active = true";
+    private static final String LANGUAGE_SQL = "SELECT id, code, name FROM languages WHERE is_active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("suggestion-index-"));
+    // Kuyrukta bekleyen türler; art arda gelen yazmalar tek yeniden yüklemede birleşir
+    private final Set<String> pendingTypes = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, List<Entry>> entriesByType = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Target[0]);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reload(SKILL);
+        reload(LANGUAGE);
+    }
+
+    /**
+     * Öneki eşleşen önerileri anahtar sırasıyla döner
+     *
+     * @param type null ise tüm türlerde arar
+     */
+    public List<SuggestionDto> suggest(String query, String type, int limit) {
+        return lookup(query, type, limit).stream()
+                .map(target -> SuggestionDto.builder()
+                        .type(target.type())
+                        .id(target.id())
+                        .label(target.label())
+                        .detail(target.detail())
+                        .build())
+                .toList();
+    }
+
+    public List<Long> suggestIds(String type, String query) {
+        return lookup(query, type, Integer.MAX_VALUE).stream()
+                .map(Target::id)
+                .toList();
+    }
+
+    private List<Target> lookup(String query, String type, int limit) {
+        String prefix = TurkishTokenizer.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        Set<Target> matches = new LinkedHashSet<>();
+        for (int i = lowerBound(current.keys(), prefix);
+             i < current.keys().length && current.keys()[i].startsWith(prefix) && matches.size() < limit;
+             i++) {
+            Target target = current.targets()[i];
+            if (type == null || type.equals(target.type())) {
+                matches.add(target);
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Türü commit sonrasında arka planda yeniden yükler ve diğer node'lara bildirir
+     */
+    public void refresh(String type) {
+        Runnable action = () -> {
+            schedule(type);
+            circuitBreaker.run("suggestionRefresh", () ->
+                    stringRedisTemplate.convertAndSend(CHANNEL, nodeId + " " + type));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length != 2 || !(SKILL.equals(parts[1]) || LANGUAGE.equals(parts[1]))) {
+            log.warn("Tanınmayan otomatik tamamlama olayı alındı");
+            return;
+        }
+        // Bu node türü yayınlamadan önce zaten kuyruğa aldı
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        schedule(parts[1]);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void schedule(String type) {
+        if (pendingTypes.add(type)) {
+            executor.execute(() -> {
+                pendingTypes.remove(type);
+                reload(type);
+            });
+        }
+    }
+
+    private synchronized void reload(String type) {
+        try {
+            List<Entry> entries = new ArrayList<>();
+            if (SKILL.equals(type)) {
+                jdbcTemplate.query(SKILL_SQL, rs -> {
+                    Target target = new Target(SKILL, rs.getLong("id"), rs.getString("name"), rs.getString("category"));
+                    addEntries(entries, target, target.label(), target.detail());
+                });
+            } else {
+                jdbcTemplate.query(LANGUAGE_SQL, rs -> {
+                    Target target = new Target(LANGUAGE, rs.getLong("id"), rs.getString("name"), rs.getString("code"));
+                    addEntries(entries, target, target.label(), target.detail());
+                });
+            }
+            entriesByType.put(type, entries);
+            snapshot = buildSnapshot();
+            log.debug("Otomatik tamamlama dizini güncellendi - {}: {} anahtar", type, entries.size());
+        } catch (Exception e) {
+            log.error("Otomatik tamamlama dizini güncellenemedi ({}): {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * Alanın tamamı ve her kelimesi ayrı anahtar olur; "Spring Boot" hem "spr" hem "boo" ile bulunur
+     */
+    private void addEntries(List<Entry> entries, Target target, String... fields) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String field : fields) {
+            String normalized = TurkishTokenizer.normalize(field);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            keys.add(normalized);
+            int space = normalized.indexOf(' ');
+            while (space >= 0) {
+                keys.add(normalized.substring(space + 1));
+                space = normalized.indexOf(' ', space + 1);
+            }
+        }
+        keys.forEach(key -> entries.add(new Entry(key, target)));
+    }
+
+    private Snapshot buildSnapshot() {
+        List<Entry> all = new ArrayList<>();
+        entriesByType.values().forEach(all::addAll);
+        all.sort(Comparator.comparing(Entry::key).thenComparing(entry -> entry.target().label()));
+
+        String[] keys = new String[all.size()];
+        Target[] targets = new Target[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            keys[i] = all.get(i).key();
+            targets[i] = all.get(i).target();
+        }
+        return new Snapshot(keys, targets);
+    }
+
+    /**
+     * Önekten küçük olmayan ilk anahtarın konumu
+     */
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Target(String type, long id, String label, String detail) {
+    }
+
+    private record Entry(String key, Target target) {
+    }
+
+    private record Snapshot(String[] keys, Target[] targets) {
+    }
+}
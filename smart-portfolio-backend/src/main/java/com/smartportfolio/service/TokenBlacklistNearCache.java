@@ -0,0 +1,287 @@
+package com.smartportfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blacklist'teki token kimliklerinin yerel kopyası. Blacklist'e ekleme ve çıkarma
+ * olayları Redis pub/sub ile tüm node'lara yayılır; böylece blacklist'te olmayan
+ * token'lar için Redis'e gidilmez. Kopya bu yüzden eksiksiz olmalıdır: boyut sınırı
+ * yoktur, kayıtlar yalnızca token'ın süresi dolunca düşer. Her node kanala sıra
+ * numaralı heartbeat yayınlar; kendi heartbeat'i gecikir veya arada biri kaybolursa
+ * abonelik kopmuş sayılır, kopya senkronize değil olarak işaretlenir ve tam
+ * senkronizasyona kadar çağıran taraf Redis'e düşer.
+ * <p>
+ * Heartbeat ve tam senkronizasyon kendi thread'lerinde çalışır; uzun süren bir
+ * senkronizasyon veya uygulamanın diğer zamanlanmış işleri heartbeat'i geciktirmez.
+ */
+@Component
+@Slf4j
+public class TokenBlacklistNearCache implements MessageListener {
+
+    public static final String CHANNEL = "blacklist:events";
+    // Sonlandırılmış cihaz oturumlarının kayıtları token kimliklerinden bu önekle ayrılır
+    public static final String SESSION_ENTRY_PREFIX = "sid:";
+
+    private static final String ADD = "ADD";
+    private static final String REMOVE = "REMOVE";
+    private static final String PING = "PING";
+    // Bu kadar heartbeat aralığı boyunca kendi heartbeat'i gelmezse abonelik kopmuş sayılır
+    private static final int MISSED_HEARTBEATS = 3;
+    // Tam senkronizasyonda TTL'ler bu boyuttaki gruplar halinde tek round trip'te okunur
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Long> entries;
+    private final long heartbeatIntervalMs;
+    private final long resyncIntervalMs;
+
+    // Bir thread heartbeat'e, diğeri tam senkronizasyona ayrılır
+    private final ScheduledExecutorService scheduler =
+            Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("blacklist-near-cache-"));
+    private final AtomicBoolean resyncRunning = new AtomicBoolean();
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sentHeartbeats = new AtomicLong();
+    private final AtomicLong receivedHeartbeat = new AtomicLong(-1);
+    private volatile long lastHeartbeatAt;
+    private volatile boolean synced = false;
+
+    public TokenBlacklistNearCache(StringRedisTemplate stringRedisTemplate,
+                                   @Value("${jwt.blacklist.near-cache.heartbeat-interval-ms:1000}") long heartbeatIntervalMs,
+                                   @Value("${jwt.blacklist.near-cache.resync-interval-ms:300000}") long resyncIntervalMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.resyncIntervalMs = resyncIntervalMs;
+        // Boyut sınırı yok; sınırlı bir kopya kayıt düşürdüğünde iptal edilmiş token yeniden geçerli sayılırdı
+        this.entries = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        long remaining = Math.max(expiresAt - System.currentTimeMillis(), 0);
+                        return TimeUnit.MILLISECONDS.toNanos(remaining);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Yerel kopya Redis ile senkronize ise true döner
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public boolean mightContain(String tokenId) {
+        return entries.getIfPresent(tokenId) != null;
+    }
+
+    /**
+     * Kaydı yalnızca yerel olarak ekler ve diğer node'lara yayınlanacak olayı döner.
+     * Olay, Redis yazımıyla birlikte çağıran tarafından yayınlanır.
+     */
+    public String addLocal(String tokenId, long expirationTimeInMs) {
+        long expiresAt = System.currentTimeMillis() + expirationTimeInMs;
+        entries.put(tokenId, expiresAt);
+        return ADD + " " + expiresAt + " " + tokenId;
+    }
+
+    /**
+     * Kaydı yerel olarak kaldırır ve diğer node'lara yayınlar
+     */
+    public void remove(String tokenId) {
+        entries.invalidate(tokenId);
+        publish(REMOVE + " " + tokenId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length == 3 && ADD.equals(parts[0])) {
+            entries.put(parts[2], Long.parseLong(parts[1]));
+        } else if (parts.length == 2 && REMOVE.equals(parts[0])) {
+            entries.invalidate(parts[1]);
+        } else if (parts.length == 3 && PING.equals(parts[0])) {
+            onHeartbeat(parts[1], Long.parseLong(parts[2]));
+        } else {
+            log.warn("Tanınmayan blacklist olayı alındı");
+        }
+    }
+
+    /**
+     * Heartbeat'i ve periyodik tam senkronizasyonu başlatır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::requestResync, 0, resyncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Çalışan bir senkronizasyon yoksa yenisini başlatır; aynı anda en fazla bir
+     * senkronizasyon çalışır ve heartbeat thread'i hiçbir zaman beklemez
+     */
+    private void requestResync() {
+        if (resyncRunning.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    try {
+                        resync();
+                    } finally {
+                        resyncRunning.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                resyncRunning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Redis'teki blacklist anahtarlarını yükler; kaçırılmış pub/sub mesajları bu sayede
+     * telafi edilir.
+     */
+    void resync() {
+        try {
+            int count = load(RedisTokenService.BLACKLIST_PREFIX, "")
+                    + load(RedisTokenService.SESSION_BLACKLIST_PREFIX, SESSION_ENTRY_PREFIX);
+            // Abonelik çalışmıyorsa tarama sonrasındaki olaylar kaçabilir; kopya yetkili sayılmaz
+            synced = isSubscriptionHealthy();
+            log.info("Blacklist yerel kopyası senkronize edildi - {} kayıt", count);
+        } catch (Exception e) {
+            synced = false;
+            log.error("Blacklist yerel kopyası senkronize edilemedi: {}", e.getMessage());
+        }
+    }
+
+    private int load(String keyPrefix, String entryPrefix) {
+        int count = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    count += loadBatch(batch, keyPrefix, entryPrefix);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            count += loadBatch(batch, keyPrefix, entryPrefix);
+        }
+        return count;
+    }
+
+    private int loadBatch(List<String> keys, String keyPrefix, String entryPrefix) {
+        List<Object> ttls = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) {
+                String key = keys.get(i);
+                entries.put(entryPrefix + key.substring(keyPrefix.length()), now + ttl);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Kanala heartbeat yayınlar ve kendi heartbeat'lerinin gelip gelmediğini kontrol eder.
+     * Abonelik kopmuşsa kopya senkronize değil olarak işaretlenir; heartbeat'ler tekrar
+     * gelmeye başladığında tam senkronizasyon yapılır.
+     */
+    void heartbeat() {
+        if (!isSubscriptionHealthy()) {
+            markUnsynced("heartbeat gecikti");
+        } else if (!synced && receivedHeartbeat.get() == sentHeartbeats.get() - 1) {
+            // Abonelik tekrar çalışıyor; arada kaçırılan olaylar tam senkronizasyonla telafi edilir
+            requestResync();
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, PING + " " + nodeId + " " + sentHeartbeats.getAndIncrement());
+        } catch (Exception e) {
+            markUnsynced("heartbeat yayınlanamadı");
+        }
+    }
+
+    private void onHeartbeat(String sender, long sequence) {
+        if (!nodeId.equals(sender)) {
+            return;
+        }
+        long previous = receivedHeartbeat.getAndSet(sequence);
+        lastHeartbeatAt = System.currentTimeMillis();
+        if (sequence != previous + 1) {
+            // Arada yayınlanan heartbeat gelmedi; aynı aralıktaki blacklist olayları da kaçmış olabilir
+            markUnsynced("heartbeat kaçırıldı");
+        }
+    }
+
+    private boolean isSubscriptionHealthy() {
+        return receivedHeartbeat.get() >= 0
+                && System.currentTimeMillis() - lastHeartbeatAt <= MISSED_HEARTBEATS * heartbeatIntervalMs;
+    }
+
+    private void markUnsynced(String reason) {
+        if (synced) {
+            synced = false;
+            log.warn("Blacklist yerel kopyası senkronize değil ({}); kontroller Redis'ten yapılacak", reason);
+        }
+    }
+
+    private void publish(String event) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, event);
+        } catch (Exception e) {
+            // Diğer node'lar bir sonraki senkronizasyonda kaydı alır
+            log.error("Blacklist olayı yayınlanamadı: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartportfolio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Arama için metni terimlere ayırır. Türkçe kurallarıyla küçük harfe çevirir (I → ı, İ → i),
+ * ardından Türkçe karakterleri ASCII karşılıklarına indirger; böylece "Şirket", "şirket"
+ * ve "sirket" aynı terime düşer. Harf/rakam dışındaki karakterler ayırıcıdır.
+ */
+public final class TurkishTokenizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final int MAX_TOKEN_LENGTH = 50;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "ve", "ile", "bir", "bu", "da", "de", "ki", "mi", "icin", "gibi", "daha", "cok", "ya", "veya",
+            "the", "and", "or", "of", "to", "in", "on", "for", "is", "an", "with");
+
+    private TurkishTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.append(fold(c));
+                }
+            } else if (!current.isEmpty()) {
+                addToken(tokens, current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            addToken(tokens, current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Metni terimlere ayırmadan aynı kurallarla normalize eder; harf/rakam dışı karakter
+     * dizileri tek boşluğa indirgenir. Önek aramaları için kullanılır.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder normalized = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(fold(c));
+            } else {
+                pendingSpace = !normalized.isEmpty();
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        // Tek harfli terimler ve bağlaçlar dizine alınmaz; tek haneli sayılar alınır
+        if ((token.length() < 2 && !Character.isDigit(token.charAt(0))) || STOP_WORDS.contains(token)) {
+            return;
+        }
+        tokens.add(token);
+    }
+
+    private static char fold(char c) {
+        return switch (c) {
+            case 'ç' -> 'c';
+            case 'ğ' -> 'g';
+            case 'ı', 'î' -> 'i';
+            case 'ö' -> 'o';
+            case 'ş' -> 's';
+            case 'ü', 'û' -> 'u';
+            case 'â' -> 'a';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,298 @@
+package com.smartportfolio.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartportfolio.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Public GET endpoint'leri için iki katmanlı önbellek: node içi Caffeine (L1) ve
+ * node'lar arası paylaşılan Redis (L2). Aynı anahtar için eşzamanlı yüklemelerde
+ * node içinde Caffeine, node'lar arasında Redis kilidi tek bir veritabanı sorgusu
+ * çalışmasını sağlar. Kilidi başka bir node tutuyorsa L2 beklemesi Caffeine'in yükleme
+ * adımı dışında yapılır; aynı anahtarı isteyen diğer thread'ler bekleyen thread'e kilitlenmez.
+ * Bulunamayan kayıtlar ({@link ResourceNotFoundException}) L1'de kısa süre negatif olarak tutulur.
+ * L1 değerleri L2'deki JSON biçiminde tutulur ve her okumada yeniden oluşturulur; çağıranlar
+ * dönen DTO'yu değiştirse de (ör. bekleyen görüntülenmeler eklenirken) önbellekteki kayıt
+ * ve diğer çağıranlar etkilenmez.
+ * Kayıtlar yazma metodlarından commit sonrasında düşürülür ve diğer node'ların L1'i
+ * pub/sub ile temizlenir.
+ */
+@Component
+@Slf4j
+public class TwoTierCache implements MessageListener {
+
+    public static final String CHANNEL = "cache:events";
+
+    private static final String VALUE_PREFIX = "cache:value:";
+    private static final String LOCK_PREFIX = "cache:lock:";
+
+    private static final RedisScript<Long> CACHE_PUT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/cache-put.lua"), Long.class);
+    private static final RedisScript<Long> CACHE_UNLOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/cache-unlock.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, String> local;
+    private final Cache<String, String> notFound;
+    private final List<Consumer<String>> evictionListeners = new CopyOnWriteArrayList<>();
+    // Önbellek adı ve sonuç başına sayaç; her okumada registry araması yapılmaz
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final long remoteTtlMs;
+    private final long lockTtlMs;
+    private final long lockWaitMs;
+
+    public TwoTierCache(StringRedisTemplate stringRedisTemplate,
+                        RedisCircuitBreaker circuitBreaker,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${public-cache.enabled:true}") boolean enabled,
+                        @Value("${public-cache.local.max-size:1000}") long localMaxSize,
+                        @Value("${public-cache.local.ttl-ms:60000}") long localTtlMs,
+                        @Value("${public-cache.remote.ttl-ms:600000}") long remoteTtlMs,
+                        @Value("${public-cache.lock.ttl-ms:5000}") long lockTtlMs,
+                        @Value("${public-cache.lock.wait-ms:1000}") long lockWaitMs,
+                        @Value("${public-cache.negative.ttl-ms:5000}") long negativeTtlMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.remoteTtlMs = remoteTtlMs;
+        this.lockTtlMs = lockTtlMs;
+        this.lockWaitMs = lockWaitMs;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "publicCacheL1");
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .build();
+    }
+
+    /**
+     * Değeri sırasıyla L1, L2 ve loader'dan getirir. Her çağrı kendi kopyasını alır.
+     */
+    public <T> T get(String key, TypeReference<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String cached = local.getIfPresent(key);
+        if (cached != null) {
+            record(key, "l1");
+            return read(key, cached, type, loader);
+        }
+        String missing = notFound.getIfPresent(key);
+        if (missing != null) {
+            record(key, "negative");
+            throw new ResourceNotFoundException(missing);
+        }
+
+        // null: kilit başka bir node'da; bekleme Caffeine'in yükleme kilidi dışında yapılır
+        String loaded = local.asMap().computeIfAbsent(key, k -> loadRemote(k, loader));
+        if (loaded != null) {
+            return read(key, loaded, type, loader);
+        }
+
+        String loadedElsewhere = awaitRemote(key);
+        if (loadedElsewhere != null) {
+            record(key, "l2");
+            local.put(key, loadedElsewhere);
+            return read(key, loadedElsewhere, type, loader);
+        }
+        // Diğer node zamanında yükleyemedi; L2'ye yazmadan bu node'da yükle
+        return read(key, local.get(key, k -> loadLocally(k, loader)), type, loader);
+    }
+
+    /**
+     * Bu node'da bir anahtar düşürüldüğünde (yerel veya pub/sub ile) çağrılır.
+     * Önbellekteki veriden türetilmiş kayıtları tutan bileşenler için kullanılır.
+     */
+    public void addEvictionListener(Consumer<String> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Anahtarları transaction commit edildikten sonra (transaction yoksa hemen) düşürür
+     */
+    public void evict(String... keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(keys);
+                }
+            });
+        } else {
+            evictNow(keys);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictNow(String... keys) {
+        List<String> remoteKeys = new ArrayList<>();
+        for (String key : keys) {
+            remoteKeys.add(VALUE_PREFIX + key);
+            // Devam eden yüklemenin kilidi de silinir; eski veri L2'ye yazılamaz
+            remoteKeys.add(LOCK_PREFIX + key);
+        }
+        circuitBreaker.run("cacheEvict", () -> {
+            stringRedisTemplate.delete(remoteKeys);
+            for (String key : keys) {
+                stringRedisTemplate.convertAndSend(CHANNEL, key);
+            }
+        });
+        // L2 silindikten sonra; L1'e yeniden yüklenen değer eski L2 kaydından gelemez
+        for (String key : keys) {
+            invalidateLocal(key);
+        }
+        log.debug("Önbellek kayıtları düşürüldü: {}", String.join(", ", keys));
+    }
+
+    private void invalidateLocal(String key) {
+        local.invalidate(key);
+        notFound.invalidate(key);
+        evictionListeners.forEach(listener -> listener.accept(key));
+    }
+
+    private <T> String loadRemote(String key, Supplier<T> loader) {
+        String remote = readRemote(key);
+        if (remote != null) {
+            record(key, "l2");
+            return remote;
+        }
+
+        String lockToken = UUID.randomUUID().toString();
+        boolean locked = circuitBreaker.call("cacheLock",
+                () -> Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                        .setIfAbsent(LOCK_PREFIX + key, lockToken, lockTtlMs, TimeUnit.MILLISECONDS)),
+                () -> false);
+
+        if (!locked && circuitBreaker.getState() == RedisCircuitBreaker.State.CLOSED) {
+            // Başka bir node yüklüyor; L2 çağıran thread'de beklenir
+            return null;
+        }
+        if (!locked) {
+            return loadLocally(key, loader);
+        }
+
+        boolean written = false;
+        try {
+            String json = loadLocally(key, loader);
+            written = writeRemote(key, lockToken, json);
+            return json;
+        } finally {
+            if (!written) {
+                // Yükleme hata verdiyse diğer istekler kilit süresi boyunca beklemez
+                circuitBreaker.run("cacheUnlock", () -> stringRedisTemplate.execute(CACHE_UNLOCK_SCRIPT,
+                        List.of(LOCK_PREFIX + key), lockToken));
+            }
+        }
+    }
+
+    private <T> String loadLocally(String key, Supplier<T> loader) {
+        T value;
+        try {
+            value = loader.get();
+            record(key, "miss");
+        } catch (ResourceNotFoundException e) {
+            notFound.put(key, e.getMessage());
+            throw e;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Önbellek kaydı yazılamadı - " + key, e);
+        }
+    }
+
+    /**
+     * Kayıttan çağırana ait yeni bir nesne oluşturur. Kayıt okunamazsa (ör. DTO alanı
+     * değişmiş eski bir L2 kaydı) L1'den düşürülür ve değer doğrudan loader'dan alınır.
+     */
+    private <T> T read(String key, String json, TypeReference<T> type, Supplier<T> loader) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.warn("Önbellek kaydı okunamadı - {}: {}", key, e.getMessage());
+            local.invalidate(key);
+            return loader.get();
+        }
+    }
+
+    private String awaitRemote(String key) {
+        long deadline = System.currentTimeMillis() + lockWaitMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            String value = readRemote(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private String readRemote(String key) {
+        return circuitBreaker.call("cacheGet",
+                () -> stringRedisTemplate.opsForValue().get(VALUE_PREFIX + key),
+                () -> null);
+    }
+
+    /**
+     * Değeri L2'ye yazar ve kilidi bırakır; kilit artık bu istekte değilse veya yazılamadıysa false döner
+     */
+    private boolean writeRemote(String key, String lockToken, String json) {
+        return circuitBreaker.call("cachePut", () -> Long.valueOf(1L).equals(stringRedisTemplate.execute(
+                CACHE_PUT_SCRIPT, List.of(VALUE_PREFIX + key, LOCK_PREFIX + key),
+                lockToken, json, String.valueOf(remoteTtlMs))), () -> false);
+    }
+
+    private void record(String key, String result) {
+        String cacheName = key.substring(0, Math.max(key.indexOf(':'), 0));
+        counters.computeIfAbsent(cacheName + '|' + result,
+                k -> meterRegistry.counter("public.cache.gets", "cache", cacheName, "result", result)).increment();
+    }
+}
@@ -1,18 +1,22 @@
 package com.smartportfolio.service;
 
+import com.smartportfolio.dto.CursorPage;
 import com.smartportfolio.dto.UserDto;
 import com.smartportfolio.exception.ResourceNotFoundException;
+import com.smartportfolio.mapper.UserMapper;
 import com.smartportfolio.model.User;
 import com.smartportfolio.repository.UserRepository;
+import com.smartportfolio.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,22 +25,38 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final AuthzVersionService authzVersionService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final UserMapper userMapper;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "id", "username", "email");
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         log.info("Tüm kullanıcılar getiriliyor");
         List<User> users = userRepository.findAll();
         return users.stream()
-                .map(user -> modelMapper.map(user, UserDto.class))
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<UserDto> getAllUsers(Pageable pageable) {
         log.info("Tüm kullanıcılar sayfalı olarak getiriliyor");
-        Page<User> users = userRepository.findAll(pageable);
-        return users.map(user -> modelMapper.map(user, UserDto.class));
+        Page<User> users = userRepository.findAll(Pagination.restrictSort(pageable, SORTABLE_PROPERTIES));
+        return users.map(this::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scrollUsers(String cursor, int size) {
+        log.info("Kullanıcılar imleç ile getiriliyor");
+        PageCursor position = PageCursor.decode(cursor);
+        List<UserDto> users = userRepository.findBefore(position.getCreatedAt(), position.getId(),
+                        Pagination.keysetLimit(size)).stream()
+                .map(this::toDto)
+                .toList();
+        return Pagination.toCursorPage(users, size, user -> new PageCursor(user.getCreatedAt(), user.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -44,7 +64,7 @@ public class UserService {
         log.info("Kullanıcı getiriliyor - ID: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        return modelMapper.map(user, UserDto.class);
+        return toDto(user);
     }
 
     @Transactional(readOnly = true)
@@ -52,7 +72,7 @@ public class UserService {
         log.info("Kullanıcı getiriliyor - Username: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        return modelMapper.map(user, UserDto.class);
+        return toDto(user);
     }
 
     @Transactional(readOnly = true)
@@ -60,7 +80,7 @@ public class UserService {
         log.info("Kullanıcı getiriliyor - Email: {}", email);
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-        return modelMapper.map(user, UserDto.class);
+        return toDto(user);
     }
 
     @Transactional
@@ -68,7 +88,11 @@ public class UserService {
         log.info("Kullanıcı siliniyor - ID: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        // Silmeden önce artırılır; Redis'teki versiyon eski token'lardakinden büyük olur
+        authzVersionService.bumpVersion(id);
         userRepository.delete(user);
+        lastLoginBuffer.discard(id);
+        userPrincipalCache.evict(id);
         log.info("Kullanıcı başarıyla silindi - ID: {}", id);
     }
 
@@ -79,9 +103,21 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setIsActive(isActive);
         User updatedUser = userRepository.save(user);
+        authzVersionService.bumpVersion(id);
+        userPrincipalCache.evict(id);
         log.info("Kullanıcı durumu başarıyla güncellendi - ID: {}", id);
-        return modelMapper.map(updatedUser, UserDto.class);
+        return toDto(updatedUser);
     }
-}
-
 
+    /**
+     * Henüz veritabanına yazılmamış son giriş zamanını da yansıtır
+     */
+    private UserDto toDto(User user) {
+        UserDto userDto = userMapper.toDto(user);
+        LocalDateTime pendingLastLogin = lastLoginBuffer.getPending(user.getId());
+        if (pendingLastLogin != null) {
+            userDto.setLastLogin(pendingLastLogin);
+        }
+        return userDto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.smartportfolio.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Blog görüntülenmelerini blog başına LongAdder sayaçlarında biriktirir ve periyodik
+ * olarak tek bir JDBC batch ile {@code view_count = view_count + ?} şeklinde yazar.
+ * Okuyucular satır kilidi beklemez ve eşzamanlı artışlar kaybolmaz. Henüz yazılmamış
+ * artışlar {@link #getPending(Long)} ve {@link #getTotalPending()} ile okunur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE blogs SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlogLeaderboard leaderboard;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(Long blogId) {
+        pending.computeIfAbsent(blogId, id -> new LongAdder()).increment();
+    }
+
+    public long getPending(Long blogId) {
+        LongAdder adder = pending.get(blogId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public long getTotalPending() {
+        long total = 0L;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Yazılmayı bekleyen artışı olan blog ID'leri
+     */
+    public Set<Long> getPendingIds() {
+        return pending.entrySet().stream()
+                .filter(entry -> entry.getValue().sum() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public void discard(Long blogId) {
+        pending.remove(blogId);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // sumThenReset hücreleri tek tek sıfırlar; sırada gelen artışlar ya bu turda ya da sonrakinde yazılır
+        List<long[]> batch = new ArrayList<>();
+        pending.forEach((blogId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                batch.add(new long[]{blogId, delta});
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry[1]);
+                ps.setLong(2, entry[0]);
+            });
+            log.debug("Blog görüntülenme sayıları yazıldı - {} kayıt", batch.size());
+        } catch (Exception e) {
+            // Yazılamayan artışlar kaybolmaz, bir sonraki turda tekrar denenir
+            batch.forEach(entry -> pending.computeIfAbsent(entry[0], id -> new LongAdder()).add(entry[1]));
+            log.error("Blog görüntülenme sayıları yazılırken hata oluştu: {}", e.getMessage());
+            return;
+        }
+        leaderboard.incrementAll(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,108 @@
+-- Başlangıç şeması: ddl-auto ile oluşturulan tabloların karşılığı.
+-- Mevcut veritabanlarında çalıştırılmaz (baseline-on-migrate ile V1 olarak işaretlenir).
+
+CREATE TABLE permissions (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_permissions_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE roles (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(50)  NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE role_permissions (
+    role_id       BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    username          VARCHAR(100) NOT NULL,
+    email             VARCHAR(150) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    first_name        VARCHAR(100),
+    last_name         VARCHAR(100),
+    phone_number      VARCHAR(20),
+    is_active         BIT          NOT NULL,
+    is_email_verified BIT          NOT NULL,
+    last_login        DATETIME(6),
+    created_at        DATETIME(6)  NOT NULL,
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE projects (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(200)  NOT NULL,
+    description VARCHAR(2000),
+    image_url   VARCHAR(500),
+    github_url  VARCHAR(500),
+    demo_url    VARCHAR(500),
+    is_active   BIT           NOT NULL,
+    is_featured BIT           NOT NULL,
+    created_at  DATETIME(6)   NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE blogs (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    title        VARCHAR(200)   NOT NULL,
+    content      VARCHAR(10000) NOT NULL,
+    summary      VARCHAR(500),
+    image_url    VARCHAR(500),
+    is_published BIT            NOT NULL,
+    view_count   BIGINT         NOT NULL,
+    created_at   DATETIME(6)    NOT NULL,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE skills (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(100) NOT NULL,
+    level      INTEGER      NOT NULL,
+    category   VARCHAR(100),
+    icon_url   VARCHAR(500),
+    is_active  BIT          NOT NULL,
+    sort_order INTEGER      NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE languages (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    code       VARCHAR(2)   NOT NULL,
+    name       VARCHAR(100) NOT NULL,
+    is_active  BIT          NOT NULL,
+    is_default BIT          NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_languages_code UNIQUE (code)
+) ENGINE = InnoDB;
@@ -0,0 +1,42 @@
+-- Repository sorgularına göre bileşik indeksler. Sütun sırası: eşitlik filtreleri,
+-- ardından sıralama sütunları; böylece filtre + ORDER BY + LIMIT indeks üzerinden çözülür.
+-- IgnoreCase sorguları UPPER(col) = UPPER(?) ürettiği için fonksiyonel indeks kullanılır (MySQL 8.0.13+).
+
+-- projects
+-- findByIsActiveTrueOrderByCreatedAtDesc, findActiveBefore (keyset), countByIsActiveTrue
+CREATE INDEX idx_projects_active_created ON projects (is_active, created_at, id);
+-- findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc, countByIsFeaturedTrueAndIsActiveTrue
+CREATE INDEX idx_projects_featured_active_created ON projects (is_featured, is_active, created_at);
+
+-- blogs
+-- findPublishedSummaries, findPublishedSummariesBefore (keyset), countByIsPublishedTrue
+CREATE INDEX idx_blogs_published_created ON blogs (is_published, created_at, id);
+-- findTopSummariesByViewCount, getTotalViewCount
+CREATE INDEX idx_blogs_published_views ON blogs (is_published, view_count);
+-- findAllByOrderByCreatedAtDesc (admin)
+CREATE INDEX idx_blogs_created ON blogs (created_at);
+
+-- skills
+-- findByIsActiveTrueOrderBySortOrderAscNameAsc, countByIsActiveTrue
+CREATE INDEX idx_skills_active_sort_name ON skills (is_active, sort_order, name);
+-- findByLevelAndIsActiveTrueOrderBySortOrderAscNameAsc, countByLevelAndIsActiveTrue
+CREATE INDEX idx_skills_level_active_sort_name ON skills (level, is_active, sort_order, name);
+-- getSkillCountByLevel
+CREATE INDEX idx_skills_active_level ON skills (is_active, level);
+-- findByNameIgnoreCaseAndIsActiveTrue, existsByNameIgnoreCaseAndIsActiveTrue
+CREATE INDEX idx_skills_name_upper ON skills ((UPPER(name)), is_active);
+
+-- languages
+-- findByIsActiveTrueOrderByNameAsc, countByIsActiveTrue
+CREATE INDEX idx_languages_active_name ON languages (is_active, name);
+-- findByIsDefaultTrueAndIsActiveTrue, countByIsDefaultTrueAndIsActiveTrue
+CREATE INDEX idx_languages_default_active ON languages (is_default, is_active);
+-- findByCodeIgnoreCaseAndIsActiveTrue, existsByCodeIgnoreCaseAndIsActiveTrue
+CREATE INDEX idx_languages_code_upper ON languages ((UPPER(code)), is_active);
+-- existsByNameIgnoreCaseAndIsActiveTrue
+CREATE INDEX idx_languages_name_upper ON languages ((UPPER(name)), is_active);
+
+-- users
+-- findBefore (keyset)
+CREATE INDEX idx_users_created ON users (created_at, id);
+-- findIdsByRoleId: user_roles.role_id yabancı anahtarının InnoDB indeksi kullanılır
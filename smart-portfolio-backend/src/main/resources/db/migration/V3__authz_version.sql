@@ -0,0 +1,3 @@
+-- Kullanıcı başına yetki versiyonu. Redis'teki kopya yalnızca önbellektir;
+-- anahtar kaybolursa versiyon buradan yeniden yüklenir ve sıfıra düşmez.
+ALTER TABLE users ADD COLUMN authz_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Öne çıkan projeler created_at eşitliğinde id ile sıralanır; sıralamanın tamamı
+-- indeksten okunur ve filesort gerekmez. Tek ALTER ile tablo bir kez yeniden düzenlenir.
+ALTER TABLE projects
+    DROP INDEX idx_projects_featured_active_created,
+    ADD INDEX idx_projects_featured_active_created_id (is_featured, is_active, created_at, id);
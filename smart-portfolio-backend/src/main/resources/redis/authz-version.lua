@@ -0,0 +1,11 @@
+-- Yetki versiyonunu yalnızca mevcut değerden büyükse yazar ve güncel değeri döner.
+-- Veritabanından eski bir değer okumuş bir istek, commit sonrası yazılmış yeni versiyonu ezemez.
+-- KEYS[1]: versiyon anahtarı
+-- ARGV[1]: versiyon, ARGV[2]: anahtar TTL (ms)
+local current = redis.call('GET', KEYS[1])
+local version = tonumber(ARGV[1])
+if current and tonumber(current) >= version then
+    return tonumber(current)
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return version
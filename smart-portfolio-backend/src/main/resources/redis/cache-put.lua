@@ -0,0 +1,10 @@
+-- Önbellek değerini yalnızca yükleme kilidi hâlâ bu istekteyse yazar.
+-- Eviction kilidi de sildiği için eski veriyle başlamış bir yükleme L2'ye yazamaz.
+-- KEYS[1]: değer anahtarı, KEYS[2]: kilit anahtarı
+-- ARGV[1]: kilit sahibinin token'ı, ARGV[2]: değer (JSON), ARGV[3]: TTL (ms)
+if redis.call('GET', KEYS[2]) ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+redis.call('DEL', KEYS[2])
+return 1
@@ -0,0 +1,7 @@
+-- Yükleme kilidini yalnızca hâlâ bu isteğe aitse siler (yükleme başarısız olduğunda)
+-- KEYS[1]: kilit anahtarı
+-- ARGV[1]: kilit sahibinin token'ı
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
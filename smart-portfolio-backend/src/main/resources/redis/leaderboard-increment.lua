@@ -0,0 +1,19 @@
+-- Görüntülenme artışlarını yalnızca listede bulunan bloglara uygular; yayından kaldırılan
+-- veya silinen bloglar yeniden eklenmez. Yeniden oluşturma sürerken artışlar günlüğe de
+-- yazılır ve yeni liste devreye alınırken tekrar uygulanır.
+-- KEYS[1]: sıralama, KEYS[2]: yeniden oluşturma kilidi, KEYS[3]: yeniden oluşturma günlüğü
+-- ARGV[1]: günlük TTL (ms), ARGV[2..n]: blog ID ve artış çiftleri
+local journaling = redis.call('EXISTS', KEYS[2]) == 1
+local applied = 0
+for i = 2, #ARGV, 2 do
+    if redis.call('ZADD', KEYS[1], 'XX', 'INCR', ARGV[i + 1], ARGV[i]) then
+        applied = applied + 1
+    end
+    if journaling then
+        redis.call('HINCRBY', KEYS[3], ARGV[i], ARGV[i + 1])
+    end
+end
+if journaling then
+    redis.call('PEXPIRE', KEYS[3], ARGV[1])
+end
+return applied
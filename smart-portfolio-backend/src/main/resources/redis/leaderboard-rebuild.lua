@@ -0,0 +1,19 @@
+-- Geçici anahtarda oluşturulan listeyi devreye alır ve oluşturma sürerken gelen artışları
+-- yeni listede bulunan bloglara uygular
+-- KEYS[1]: geçici anahtar, KEYS[2]: sıralama, KEYS[3]: yeniden oluşturma kilidi,
+-- KEYS[4]: yeniden oluşturma günlüğü
+-- Tekrar uygulanan artış sayısını döner
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('RENAME', KEYS[1], KEYS[2])
+else
+    redis.call('DEL', KEYS[2])
+end
+local journal = redis.call('HGETALL', KEYS[4])
+local replayed = 0
+for i = 1, #journal, 2 do
+    if redis.call('ZADD', KEYS[2], 'XX', 'INCR', journal[i + 1], journal[i]) then
+        replayed = replayed + 1
+    end
+end
+redis.call('DEL', KEYS[3], KEYS[4])
+return replayed
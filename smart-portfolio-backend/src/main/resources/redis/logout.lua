@@ -0,0 +1,16 @@
+-- Çıkış: access token'ı ve cihaz oturumunu blacklist'e ekler, oturumu siler ve olayları yayınlar.
+-- Oturum kimliği blacklist'te olduğundan aynı oturumdan verilmiş diğer access token'lar da reddedilir.
+-- KEYS[1]: blacklist anahtarı, KEYS[2]: kullanıcının oturum hash'i, KEYS[3]: oturum blacklist anahtarı
+-- ARGV[1]: blacklist TTL (ms), ARGV[2]: pub/sub kanalı, ARGV[3]: blacklist olayı,
+-- ARGV[4]: oturum ID'si (hash alanı), ARGV[5]: oturum blacklist TTL (ms), ARGV[6]: oturum blacklist olayı
+local ttl = tonumber(ARGV[1])
+if ttl > 0 then
+    redis.call('SET', KEYS[1], '1', 'PX', ttl)
+    redis.call('PUBLISH', ARGV[2], ARGV[3])
+end
+if ARGV[4] ~= '' then
+    redis.call('SET', KEYS[3], '1', 'PX', ARGV[5])
+    redis.call('PUBLISH', ARGV[2], ARGV[6])
+    redis.call('HDEL', KEYS[2], ARGV[4])
+end
+return 1
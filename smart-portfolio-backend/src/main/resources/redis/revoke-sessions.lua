@@ -0,0 +1,27 @@
+-- Cihaz oturumlarını siler ve oturum kimliklerini blacklist'e ekler; bu oturumlara
+-- bağlı access token'lar süreleri dolmadan da reddedilir
+-- KEYS[1]: kullanıcının oturum hash'i
+-- ARGV[1]: blacklist TTL (ms), ARGV[2]: pub/sub kanalı, ARGV[3]: blacklist bitiş zamanı (ms),
+-- ARGV[4]: oturum blacklist anahtar öneki, ARGV[5]: '1' ise hash'teki tüm oturumlar sonlandırılır,
+-- ARGV[6..n]: ayrıca sonlandırılacak oturum ID'leri
+-- Tüm oturumlar HKEYS ile aynı atomik adımda okunduğundan blacklist anahtarları önceden
+-- bilinemez; öneke göre script içinde oluşturulur
+-- Hash'ten silinen oturum ID'lerini döner
+local sessionIds = {}
+for i = 6, #ARGV do
+    sessionIds[#sessionIds + 1] = ARGV[i]
+end
+if ARGV[5] == '1' then
+    for _, sessionId in ipairs(redis.call('HKEYS', KEYS[1])) do
+        sessionIds[#sessionIds + 1] = sessionId
+    end
+end
+local removed = {}
+for _, sessionId in ipairs(sessionIds) do
+    redis.call('SET', ARGV[4] .. sessionId, '1', 'PX', ARGV[1])
+    redis.call('PUBLISH', ARGV[2], 'ADD ' .. ARGV[3] .. ' sid:' .. sessionId)
+    if redis.call('HDEL', KEYS[1], sessionId) == 1 then
+        removed[#removed + 1] = sessionId
+    end
+end
+return removed
@@ -0,0 +1,25 @@
+-- Cihaz oturumunun refresh token rotasyonu (compare-and-swap)
+-- KEYS[1]: kullanıcının oturum hash'i
+-- ARGV[1]: oturum ID'si (hash alanı), ARGV[2]: beklenen (mevcut) jti, ARGV[3]: yeni jti,
+-- ARGV[4]: yeni bitiş zamanı (ms), ARGV[5]: anahtar TTL (ms), ARGV[6]: şu anki zaman (ms)
+-- Oturum değeri: jti|expiresAt|createdAt|userAgent
+local current = redis.call('HGET', KEYS[1], ARGV[1])
+if not current then
+    return 0
+end
+local first = string.find(current, '|', 1, true)
+local second = string.find(current, '|', first + 1, true)
+local jti = string.sub(current, 1, first - 1)
+local expiresAt = tonumber(string.sub(current, first + 1, second - 1))
+if expiresAt < tonumber(ARGV[6]) then
+    -- Alan bazlı TTL: süresi dolmuş oturum temizlenir
+    redis.call('HDEL', KEYS[1], ARGV[1])
+    return 0
+end
+if jti ~= ARGV[2] then
+    return 0
+end
+-- createdAt ve userAgent korunur
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[3] .. '|' .. ARGV[4] .. string.sub(current, second))
+redis.call('PEXPIRE', KEYS[1], ARGV[5])
+return 1
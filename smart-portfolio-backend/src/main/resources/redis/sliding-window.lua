@@ -0,0 +1,17 @@
+-- Kayan pencere hız sınırı
+-- KEYS[1]: istemcinin pencere ZSET'i
+-- ARGV[1]: şu anki zaman (ms), ARGV[2]: pencere uzunluğu (ms), ARGV[3]: pencere başına limit,
+-- ARGV[4]: istek için benzersiz üye; boşsa hak tüketilmeden yalnızca kontrol edilir
+-- İzin verilirse 0, aksi halde tekrar denemeye kadar beklenecek süreyi (ms) döner
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then
+    if ARGV[4] ~= '' then
+        redis.call('ZADD', KEYS[1], now, ARGV[4])
+        redis.call('PEXPIRE', KEYS[1], window)
+    end
+    return 0
+end
+local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+return math.max(tonumber(oldest[2]) + window - now, 1)
@@ -0,0 +1,56 @@
+package com.smartportfolio.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ExecutionModeConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ExecutionModeConfig.class);
+
+    @Test
+    void platformModeIsDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+        contextRunner.withPropertyValues("server.execution-mode=platform")
+                .run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void virtualModeUsesVirtualThreadsOnlyWhenRuntimeSupportsThem() {
+        AtomicReference<ExecutorService> executor = new AtomicReference<>();
+        contextRunner.withPropertyValues("server.execution-mode=virtual").run(context -> {
+            TomcatProtocolHandlerCustomizer<ProtocolHandler> customizer =
+                    context.getBean(TomcatProtocolHandlerCustomizer.class);
+            ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+            customizer.customize(protocolHandler);
+
+            if (Runtime.version().feature() >= 21) {
+                ArgumentCaptor<ExecutorService> captor = ArgumentCaptor.forClass(ExecutorService.class);
+                verify(protocolHandler).setExecutor(captor.capture());
+                executor.set(captor.getValue());
+                assertThat(executor.get().isShutdown()).isFalse();
+            } else {
+                // Java 17'de platform thread havuzu olduğu gibi kalır
+                verifyNoInteractions(protocolHandler);
+            }
+        });
+
+        // Context kapanınca executor da kapatılır
+        if (executor.get() != null) {
+            assertThat(executor.get().isShutdown()).isTrue();
+        }
+    }
+}
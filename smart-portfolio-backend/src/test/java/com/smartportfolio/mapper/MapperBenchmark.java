@@ -0,0 +1,104 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.ProjectDto;
+import com.smartportfolio.dto.UserDto;
+import com.smartportfolio.model.Permission;
+import com.smartportfolio.model.Project;
+import com.smartportfolio.model.Role;
+import com.smartportfolio.model.User;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100 elemanlık liste eşlemesinde elle yazılmış mapper'ları, kaldırılan ModelMapper
+ * yapılandırmasıyla (STRICT, skipNull, ambiguityIgnored) karşılaştırır.
+ * -prof gc ile çalıştırılırsa işlem başına bellek ayırma da görülür.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int SIZE = 100;
+
+    private final ProjectMapper projectMapper = new ProjectMapper();
+    private final UserMapper userMapper = new UserMapper(new RoleMapper());
+    private ModelMapper modelMapper;
+
+    private List<Project> projects;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setAmbiguityIgnored(true);
+
+        Permission permission = Permission.builder().name("BLOG_READ").description("Blog okuma").build();
+        Role role = Role.builder().name("USER").description("Kullanıcı").permissions(Set.of(permission)).build();
+        projects = new ArrayList<>(SIZE);
+        users = new ArrayList<>(SIZE);
+        for (long i = 1; i <= SIZE; i++) {
+            Project project = Project.builder()
+                    .title("Proje " + i)
+                    .description("Açıklama " + i)
+                    .githubUrl("https://github.com/ornek/" + i)
+                    .build();
+            project.setId(i);
+            project.setCreatedAt(LocalDateTime.now());
+            projects.add(project);
+
+            User user = User.builder()
+                    .id(i)
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .firstName("Ad")
+                    .lastName("Soyad")
+                    .roles(Set.of(role))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<ProjectDto> projectsHandWritten() {
+        return projects.stream().map(projectMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<ProjectDto> projectsModelMapper() {
+        return projects.stream().map(project -> modelMapper.map(project, ProjectDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> usersHandWritten() {
+        return users.stream().map(userMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> usersModelMapper() {
+        return users.stream().map(user -> modelMapper.map(user, UserDto.class)).toList();
+    }
+}
@@ -0,0 +1,161 @@
+package com.smartportfolio.mapper;
+
+import com.smartportfolio.dto.PermissionDto;
+import com.smartportfolio.dto.RoleDto;
+import com.smartportfolio.model.Blog;
+import com.smartportfolio.model.Language;
+import com.smartportfolio.model.Permission;
+import com.smartportfolio.model.Project;
+import com.smartportfolio.model.Role;
+import com.smartportfolio.model.Skill;
+import com.smartportfolio.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Elle yazılmış mapper'ların DTO'daki her alanı doldurduğunu kontrol eder. Entity'ye
+ * veya DTO'ya yeni bir alan eklenip mapper'a eklenmezse test başarısız olur.
+ */
+class MapperTest {
+
+    private final RoleMapper roleMapper = new RoleMapper();
+    private final UserMapper userMapper = new UserMapper(roleMapper);
+
+    private long sequence;
+
+    @Test
+    void mapsBlog() throws Exception {
+        Blog blog = populate(new Blog());
+        assertFullyMapped(blog, new BlogMapper().toDto(blog));
+    }
+
+    @Test
+    void mapsProject() throws Exception {
+        Project project = populate(new Project());
+        assertFullyMapped(project, new ProjectMapper().toDto(project));
+    }
+
+    @Test
+    void mapsSkill() throws Exception {
+        Skill skill = populate(new Skill());
+        assertFullyMapped(skill, new SkillMapper().toDto(skill));
+    }
+
+    @Test
+    void mapsLanguage() throws Exception {
+        Language language = populate(new Language());
+        assertFullyMapped(language, new LanguageMapper().toDto(language));
+    }
+
+    @Test
+    void mapsRoleWithPermissions() throws Exception {
+        Role role = role();
+        RoleDto dto = roleMapper.toDto(role);
+
+        assertFullyMapped(role, dto);
+        Permission permission = role.getPermissions().iterator().next();
+        assertFullyMapped(permission, dto.getPermissions().iterator().next());
+    }
+
+    @Test
+    void mapsUserWithRoles() throws Exception {
+        User user = populate(new User());
+        user.setRoles(Set.of(role()));
+
+        assertFullyMapped(user, userMapper.toDto(user));
+    }
+
+    @Test
+    void roleToEntityLeavesIdAndTimestampsToDatabase() throws Exception {
+        RoleDto dto = roleMapper.toDto(role());
+        Role role = roleMapper.toEntity(dto);
+
+        assertNull(role.getId());
+        assertNull(role.getCreatedAt());
+        assertEquals(dto.getName(), role.getName());
+        assertEquals(dto.getDescription(), role.getDescription());
+        PermissionDto permissionDto = dto.getPermissions().iterator().next();
+        Permission permission = role.getPermissions().iterator().next();
+        assertEquals(permissionDto.getId(), permission.getId());
+        assertEquals(permissionDto.getName(), permission.getName());
+    }
+
+    private Role role() throws Exception {
+        Role role = populate(new Role());
+        role.setPermissions(Set.of(populate(new Permission())));
+        return role;
+    }
+
+    /**
+     * Koleksiyonlar dışındaki tüm alanlara varsayılandan farklı, benzersiz değerler atar
+     */
+    private <T> T populate(T entity) throws Exception {
+        for (Field field : fields(entity.getClass())) {
+            Class<?> type = field.getType();
+            Object value;
+            if (type == String.class) {
+                value = field.getName() + "-" + (++sequence);
+            } else if (type == Long.class) {
+                value = ++sequence;
+            } else if (type == Integer.class) {
+                value = (int) ++sequence;
+            } else if (type == Boolean.class) {
+                // Varsayılan değerleri kopyalamayan bir mapper'ı yakalamak için varsayılanın tersi
+                Object current = field.get(entity);
+                value = !Boolean.TRUE.equals(current);
+            } else if (type == LocalDateTime.class) {
+                value = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(++sequence);
+            } else {
+                continue;
+            }
+            field.set(entity, value);
+        }
+        return entity;
+    }
+
+    /**
+     * DTO'daki her alan dolu olmalı; entity'de aynı adlı basit bir alan varsa değerler eşit olmalı
+     */
+    private void assertFullyMapped(Object entity, Object dto) throws Exception {
+        List<Field> entityFields = fields(entity.getClass());
+        for (Field dtoField : fields(dto.getClass())) {
+            Object dtoValue = dtoField.get(dto);
+            String name = dto.getClass().getSimpleName() + "." + dtoField.getName();
+            assertNotNull(dtoValue, name + " eşlenmedi");
+            if (dtoValue instanceof Collection<?> collection) {
+                assertFalse(collection.isEmpty(), name + " boş eşlendi");
+                continue;
+            }
+            for (Field entityField : entityFields) {
+                if (entityField.getName().equals(dtoField.getName())) {
+                    assertEquals(entityField.get(entity), dtoValue, name + " yanlış eşlendi");
+                }
+            }
+        }
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,157 @@
+package com.smartportfolio.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway migration'larını boş bir MySQL 8 veritabanına uygular ve Hibernate'in
+ * ddl-auto: validate ile entity'leri şemaya karşı doğrulamasını sağlar; context
+ * açılabiliyorsa migration'lar ve entity eşlemeleri uyumludur. Repository sorguları örnek
+ * veri üzerinde çalıştırılır; MySQL'in gerçekten aldığı SQL performance_schema'dan okunup
+ * EXPLAIN edilir ve tam tablo taraması (type = ALL) varsa test başarısız olur.
+ * Docker yoksa test atlanır; CI'da Docker bulunan runner'da çalışır.
+ */
+@DataJpaTest
+@Sql(scripts = "/db/explain-seed.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    @ServiceConnection
+    // Uzun Hibernate sorguları performance_schema'da kesilmeden tutulsun
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--performance-schema-max-sql-text-length=8192");
+
+    private static final LocalDateTime CURSOR = LocalDateTime.of(2024, 1, 1, 4, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Test
+    void appliesAllMigrations() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank", String.class);
+
+        assertThat(versions).containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void createsQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT DISTINCT index_name FROM information_schema.statistics WHERE table_schema = DATABASE()",
+                String.class);
+
+        assertThat(indexes).contains(
+                "idx_projects_active_created", "idx_projects_featured_active_created_id",
+                "idx_blogs_published_created", "idx_skills_name_upper",
+                "idx_languages_code_upper", "idx_users_created");
+    }
+
+    @Test
+    void runsRepositoryQueriesAgainstMigratedSchema() {
+        assertThat(userRepository.findConflictingUsernames("yok", "yok@example.com")).isEmpty();
+    }
+
+    @Test
+    void projectQueriesUseIndexes() {
+        assertNoFullScan(() -> projectRepository.findByIsActiveTrueOrderByCreatedAtDesc());
+        assertNoFullScan(() -> projectRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDescIdDesc());
+        assertNoFullScan(() -> projectRepository.findByIsActiveTrueOrderByCreatedAtDesc(PageRequest.of(0, 10)));
+        assertNoFullScan(() -> projectRepository.findActiveBefore(CURSOR, 240L, PageRequest.of(0, 10)));
+        assertNoFullScan(() -> projectRepository.countByIsActiveTrue());
+        assertNoFullScan(() -> projectRepository.countByIsFeaturedTrueAndIsActiveTrue());
+    }
+
+    @Test
+    void blogQueriesUseIndexes() {
+        assertNoFullScan(() -> blogRepository.findPublishedSummaries(PageRequest.of(0, 10)));
+        assertNoFullScan(() -> blogRepository.findPublishedSummariesBefore(CURSOR, 240L, PageRequest.of(0, 10)));
+        assertNoFullScan(() -> blogRepository.findTopSummariesByViewCount(PageRequest.of(0, 10)));
+        assertNoFullScan(() -> blogRepository.findPublishedSummariesByIdIn(List.of(10L, 20L, 30L)));
+        assertNoFullScan(() -> blogRepository.countByIsPublishedTrue());
+        assertNoFullScan(() -> blogRepository.getTotalViewCount());
+    }
+
+    @Test
+    void skillQueriesUseIndexes() {
+        assertNoFullScan(() -> skillRepository.findByIsActiveTrueOrderBySortOrderAscNameAsc());
+        assertNoFullScan(() -> skillRepository.findByLevelAndIsActiveTrueOrderBySortOrderAscNameAsc(3));
+        assertNoFullScan(() -> skillRepository.findByNameIgnoreCaseAndIsActiveTrue("beceri 10"));
+        assertNoFullScan(() -> skillRepository.existsByNameIgnoreCaseAndIsActiveTrue("beceri 10"));
+        assertNoFullScan(() -> skillRepository.countByLevelAndIsActiveTrue(3));
+        assertNoFullScan(() -> skillRepository.getSkillCountByLevel());
+    }
+
+    @Test
+    void languageQueriesUseIndexes() {
+        assertNoFullScan(() -> languageRepository.findByIsActiveTrueOrderByNameAsc());
+        assertNoFullScan(() -> languageRepository.findByCodeIgnoreCaseAndIsActiveTrue("0A"));
+        assertNoFullScan(() -> languageRepository.findByIsDefaultTrueAndIsActiveTrue());
+        assertNoFullScan(() -> languageRepository.existsByNameIgnoreCaseAndIsActiveTrue("dil 10"));
+        assertNoFullScan(() -> languageRepository.countByIsDefaultTrueAndIsActiveTrue());
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertNoFullScan(() -> userRepository.findByUsernameOrEmail("user10", "user10"));
+        assertNoFullScan(() -> userRepository.findConflictingUsernames("user10", "user20@example.com"));
+        assertNoFullScan(() -> userRepository.findIdsByRoleId(1L));
+        assertNoFullScan(() -> userRepository.findBefore(CURSOR, 240L, PageRequest.of(0, 10)));
+        assertNoFullScan(() -> userRepository.findAuthzVersionsByIdIn(List.of(10L, 20L, 30L)));
+    }
+
+    /**
+     * Sorguyu çalıştırır, bu bağlantıda MySQL'e giden SELECT'leri performance_schema'dan
+     * okur ve her birinin planında tam tablo taraması olmadığını doğrular. Test
+     * transaction'ı içinde JPA ve JdbcTemplate aynı bağlantıyı kullanır.
+     */
+    private void assertNoFullScan(Runnable query) {
+        Long since = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(event_id), 0) FROM performance_schema.events_statements_history " +
+                        "WHERE thread_id = PS_CURRENT_THREAD_ID()", Long.class);
+        query.run();
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT sql_text FROM performance_schema.events_statements_history " +
+                        "WHERE thread_id = PS_CURRENT_THREAD_ID() AND event_id > ? " +
+                        "AND sql_text LIKE 'select%' AND sql_text NOT LIKE '%performance_schema%' " +
+                        "ORDER BY event_id", String.class, since);
+
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+            assertThat(plan).as(sql).noneMatch(row -> "ALL".equals(row.get("type")));
+        }
+    }
+}
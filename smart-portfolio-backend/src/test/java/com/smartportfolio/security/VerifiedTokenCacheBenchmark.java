@@ -0,0 +1,72 @@
+package com.smartportfolio.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aynı access token'ın önbellekten dönmesini her istekte imza doğrulaması ve claim
+ * ayrıştırmasıyla karşılaştırır. İki provider da aynı anahtar ve token'ı kullanır;
+ * yalnızca önbelleğin açık olup olmadığı farklıdır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(true);
+        uncachedProvider = provider(false);
+        UserPrincipal principal = new UserPrincipal(1L, "ahmet", "ahmet@example.com", "x",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0L, true);
+        token = cachedProvider.generateToken(principal, "session-1");
+        cachedProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> cacheHit() {
+        return cachedProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> fullVerification() {
+        return uncachedProvider.verifyToken(token);
+    }
+
+    private static JwtTokenProvider provider(boolean cacheEnabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "enabled", cacheEnabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        cache.init();
+
+        JwtTokenProvider provider = new JwtTokenProvider(cache);
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationInMs", 604_800_000L);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartportfolio.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void returnsCachedTokenForSameToken() {
+        VerifiedTokenCache cache = cache(true);
+        VerifiedToken token = token("header.payload.signature", 60_000);
+
+        cache.put(token);
+
+        assertSame(token, cache.get("header.payload.signature"));
+    }
+
+    @Test
+    void ignoresEntryWhenPayloadDiffersForSameSignature() {
+        VerifiedTokenCache cache = cache(true);
+        cache.put(token("header.payload.signature", 60_000));
+
+        assertNull(cache.get("header.tampered.signature"));
+    }
+
+    @Test
+    void dropsEntryWhenTokenExpires() throws InterruptedException {
+        VerifiedTokenCache cache = cache(true);
+        // exp claim'i saniye hassasiyetinde tutulur; kalan süre 0,5 ile 1,5 saniye arasındadır
+        VerifiedToken token = token("header.payload.signature", 1_500);
+        cache.put(token);
+        assertSame(token, cache.get("header.payload.signature"));
+
+        Thread.sleep(1_600);
+
+        assertNull(cache.get("header.payload.signature"));
+    }
+
+    @Test
+    void doesNotCacheExpiredToken() {
+        VerifiedTokenCache cache = cache(true);
+        cache.put(token("header.payload.signature", -1_000));
+
+        assertNull(cache.get("header.payload.signature"));
+    }
+
+    @Test
+    void evictRemovesToken() {
+        VerifiedTokenCache cache = cache(true);
+        cache.put(token("header.payload.signature", 60_000));
+
+        cache.evict("header.payload.signature");
+
+        assertNull(cache.get("header.payload.signature"));
+    }
+
+    @Test
+    void disabledCacheNeverReturnsEntries() {
+        VerifiedTokenCache cache = cache(false);
+        cache.put(token("header.payload.signature", 60_000));
+
+        assertNull(cache.get("header.payload.signature"));
+    }
+
+    private static VerifiedTokenCache cache(boolean enabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+        return cache;
+    }
+
+    private static VerifiedToken token(String token, long expiresInMs) {
+        Claims claims = Jwts.claims();
+        claims.setSubject("1");
+        claims.setId("jti-1");
+        claims.setIssuedAt(new Date());
+        claims.setExpiration(new Date(System.currentTimeMillis() + expiresInMs));
+        return new VerifiedToken(token, claims);
+    }
+}
@@ -0,0 +1,94 @@
+package com.smartportfolio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kayıt ve giriş akışlarının önceki ve şimdiki hallerini işlem başına CPU süresi ve
+ * SQL sayısıyla karşılaştırır. BCrypt işlemleri gerçektir (varsayılan cost 10); SQL
+ * sorguları çalıştırılmaz, akışın yaptığı repository çağrıları sayılır ve her iterasyon
+ * sonunda işlem başına raporlanır. Şimdiki akışların gerçek repository
+ * çağrıları AuthServiceRegisterTest'te doğrulanır.
+ * <ul>
+ *     <li>Kayıt, önce: existsByUsername + existsByEmail + rol + insert, ardından
+ *     authenticate ile kullanıcı tekrar yüklenir ve şifre ikinci kez doğrulanır</li>
+ *     <li>Kayıt, şimdi: findConflictingUsernames + rol + insert; token kaydedilen kullanıcıdan</li>
+ *     <li>Giriş, önce: doğrulama yüklemesi + findByUsernameOrEmail + senkron lastLogin update</li>
+ *     <li>Giriş, şimdi: yalnızca doğrulama yüklemesi; lastLogin toplu olarak arka planda yazılır</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFlowBenchmark {
+
+    private static final String PASSWORD = "Sifre123!";
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    private String storedHash;
+
+    @State(Scope.Thread)
+    public static class SqlCounter {
+        private long operations;
+        private long queries;
+
+        void record(int count) {
+            operations++;
+            queries += count;
+        }
+
+        // JMH çıktısında her iterasyonun sonunda işlem başına sorgu sayısı görünür
+        @TearDown(Level.Iteration)
+        public void report() {
+            System.out.printf("SQL sorgusu/işlem: %.1f%n", (double) queries / operations);
+            operations = 0;
+            queries = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        storedHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean registerBefore(SqlCounter sql) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        sql.record(5);
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String registerAfter(SqlCounter sql) {
+        sql.record(3);
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean loginBefore(SqlCounter sql) {
+        sql.record(3);
+        return passwordEncoder.matches(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean loginAfter(SqlCounter sql) {
+        sql.record(1);
+        return passwordEncoder.matches(PASSWORD, storedHash);
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.dto.RegisterRequest;
+import com.smartportfolio.exception.EmailAlreadyExistsException;
+import com.smartportfolio.exception.UsernameAlreadyExistsException;
+import com.smartportfolio.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kayıtta kullanıcı adı ve email çakışması tek sorguyla kontrol edilir; çakışma varsa
+ * şifre hash'lenmeden ve transaction açılmadan istek reddedilir.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceRegisterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Test
+    void rejectsTakenUsernameWithSingleQuery() {
+        when(userRepository.findConflictingUsernames("ahmet", "ahmet@example.com")).thenReturn(List.of("ahmet"));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> authService.register(request(), "agent"));
+
+        verify(userRepository).findConflictingUsernames("ahmet", "ahmet@example.com");
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(passwordEncoder, transactionTemplate);
+    }
+
+    @Test
+    void matchesUsernameIgnoringCase() {
+        // MySQL'in varsayılan karşılaştırması büyük/küçük harf duyarsızdır
+        when(userRepository.findConflictingUsernames("ahmet", "ahmet@example.com")).thenReturn(List.of("Ahmet"));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> authService.register(request(), "agent"));
+    }
+
+    @Test
+    void rejectsTakenEmailWhenUsernameIsFree() {
+        when(userRepository.findConflictingUsernames("ahmet", "ahmet@example.com")).thenReturn(List.of("baska"));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> authService.register(request(), "agent"));
+
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(passwordEncoder, transactionTemplate);
+    }
+
+    @Test
+    void prefersUsernameConflictWhenBothAreTaken() {
+        when(userRepository.findConflictingUsernames("ahmet", "ahmet@example.com"))
+                .thenReturn(List.of("baska", "ahmet"));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> authService.register(request(), "agent"));
+    }
+
+    private static RegisterRequest request() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("ahmet");
+        request.setEmail("ahmet@example.com");
+        request.setPassword("Sifre123!");
+        request.setFirstName("Ahmet");
+        request.setLastName("Yılmaz");
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package com.smartportfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sıralama script'lerini (leaderboard-increment.lua, leaderboard-rebuild.lua) gömülü
+ * Redis'te çalıştırır. Veritabanı okuması JdbcTemplate taklidiyle yapılır.
+ */
+class BlogLeaderboardTest {
+
+    private static RedisServer redisServer;
+    private static int port;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private BlogLeaderboard leaderboard;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(new SimpleMeterRegistry(), 5, 10000, "open");
+        leaderboard = new BlogLeaderboard(stringRedisTemplate, circuitBreaker, jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void incrementDoesNotRecreateRemovedBlog() {
+        stringRedisTemplate.opsForZSet().add(BlogLeaderboard.KEY, "1", 10);
+
+        leaderboard.incrementAll(List.of(new long[]{1, 5}, new long[]{2, 7}));
+
+        assertEquals(15.0, stringRedisTemplate.opsForZSet().score(BlogLeaderboard.KEY, "1"));
+        assertNull(stringRedisTemplate.opsForZSet().score(BlogLeaderboard.KEY, "2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildReplaysIncrementsMadeDuringSelect() {
+        stringRedisTemplate.opsForZSet().add(BlogLeaderboard.KEY, "1", 10);
+        // SELECT okunduktan sonra veritabanına yazılan artış, RENAME'den önce eski listeye uygulanır
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            leaderboard.incrementAll(List.<long[]>of(new long[]{1, 3}));
+            return List.of(new long[]{1, 10}, new long[]{2, 5});
+        });
+
+        leaderboard.rebuild();
+
+        assertEquals(13.0, stringRedisTemplate.opsForZSet().score(BlogLeaderboard.KEY, "1"));
+        assertEquals(5.0, stringRedisTemplate.opsForZSet().score(BlogLeaderboard.KEY, "2"));
+        assertEquals(List.of(1L, 2L), leaderboard.top(10));
+        assertFalse(stringRedisTemplate.hasKey("blogs:leaderboard:rebuild-lock"));
+        assertFalse(stringRedisTemplate.hasKey("blogs:leaderboard:rebuild-journal"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildWithoutPublishedBlogsClearsList() {
+        stringRedisTemplate.opsForZSet().add(BlogLeaderboard.KEY, "1", 10);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+
+        leaderboard.rebuild();
+
+        assertFalse(stringRedisTemplate.hasKey(BlogLeaderboard.KEY));
+        assertNull(leaderboard.top(10));
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartportfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RateLimiterTest {
+
+    private final RateLimiter rateLimiter = new RateLimiter(mock(StringRedisTemplate.class),
+            new RedisCircuitBreaker(new SimpleMeterRegistry(), 5, 10000, "open"), "local", 1000);
+
+    @Test
+    void rejectsAfterCapacityIsUsed() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("key", 3, 60_000));
+        }
+        assertTrue(rateLimiter.tryAcquire("key", 3, 60_000) > 0);
+    }
+
+    @Test
+    void peekDoesNotConsume() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.peek("key", 1, 60_000));
+        }
+        assertEquals(0, rateLimiter.tryAcquire("key", 1, 60_000));
+        assertTrue(rateLimiter.peek("key", 1, 60_000) > 0);
+    }
+
+    @Test
+    void resetClearsCounter() {
+        rateLimiter.tryAcquire("key", 1, 60_000);
+        rateLimiter.reset("key");
+
+        assertEquals(0, rateLimiter.tryAcquire("key", 1, 60_000));
+    }
+
+    @Test
+    void rejectsNonPositiveConfiguration() {
+        assertThrows(IllegalStateException.class, () -> RateLimiter.validate("login", 0, 60_000));
+        assertThrows(IllegalStateException.class, () -> RateLimiter.validate("login", 10, 0));
+    }
+}
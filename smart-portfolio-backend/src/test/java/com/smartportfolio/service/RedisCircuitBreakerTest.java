@@ -0,0 +1,41 @@
+package com.smartportfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Devre yalnızca Redis erişim hatalarında açılır; çözümleme gibi uygulama hataları
+ * çağırana iletilir ve devreyi etkilemez.
+ */
+class RedisCircuitBreakerTest {
+
+    private final RedisCircuitBreaker circuitBreaker =
+            new RedisCircuitBreaker(new SimpleMeterRegistry(), 2, 10000, "open");
+
+    @Test
+    void opensAfterConsecutiveRedisFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("yedek", circuitBreaker.call("get", () -> {
+                throw new RedisConnectionFailureException("down");
+            }, () -> "yedek"));
+        }
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("yedek", circuitBreaker.call("get", () -> "değer", () -> "yedek"));
+    }
+
+    @Test
+    void decodeErrorsPropagateWithoutOpeningCircuit() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(NumberFormatException.class, () ->
+                    circuitBreaker.call("get", () -> Long.valueOf("bozuk"), () -> 0L));
+        }
+
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals("değer", circuitBreaker.call("get", () -> "değer", () -> "yedek"));
+    }
+}
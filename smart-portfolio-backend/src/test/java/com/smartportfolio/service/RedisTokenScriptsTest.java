@@ -0,0 +1,163 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.security.IssuedToken;
+import com.smartportfolio.security.JwtTokenProvider;
+import com.smartportfolio.security.VerifiedToken;
+import com.smartportfolio.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Oturum Lua script'lerini (rotate-refresh-token.lua, logout.lua, revoke-sessions.lua)
+ * gerçek bir Redis'te RedisTokenService üzerinden çalıştırır. Yerel blacklist kopyası
+ * senkronize değil kabul edilir; blacklist kontrolleri Redis'e gider. Redis gömülü olarak
+ * boş bir portta başlatılır; Docker gerekmez.
+ */
+class RedisTokenScriptsTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String SESSION_ID = "session-1";
+    private static final String SESSION_KEY = "sessions:" + USER_ID;
+    private static final long ACCESS_EXPIRATION_MS = 60_000;
+
+    private static RedisServer redisServer;
+    private static int port;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisTokenService redisTokenService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+
+        TokenBlacklistNearCache nearCache = mock(TokenBlacklistNearCache.class);
+        when(nearCache.addLocal(anyString(), anyLong()))
+                .thenAnswer(invocation -> "ADD 0 " + invocation.getArgument(0));
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(new SimpleMeterRegistry(), 5, 10000, "open");
+        redisTokenService = new RedisTokenService(stringRedisTemplate, mock(VerifiedTokenCache.class),
+                nearCache, circuitBreaker);
+        ReflectionTestUtils.setField(redisTokenService, "accessExpirationMs", ACCESS_EXPIRATION_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void rotationSwapsTokenIdAndKeepsCreatedAtAndUserAgent() {
+        saveSession(SESSION_ID, "jti-0", System.currentTimeMillis() + 60_000);
+        IssuedToken next = refreshToken("jti-1");
+
+        assertTrue(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", next));
+
+        String value = (String) stringRedisTemplate.opsForHash().get(SESSION_KEY, SESSION_ID);
+        assertEquals("jti-1|" + next.getExpiration().getTime() + "|42|agent", value);
+        assertTrue(stringRedisTemplate.getExpire(SESSION_KEY) > 0);
+    }
+
+    @Test
+    void replayedRefreshTokenIsRejected() {
+        saveSession(SESSION_ID, "jti-0", System.currentTimeMillis() + 60_000);
+
+        assertTrue(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-1")));
+        assertFalse(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-2")));
+        assertTrue(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-1", refreshToken("jti-2")));
+    }
+
+    @Test
+    void expiredSessionIsRemovedInsteadOfRotated() {
+        saveSession(SESSION_ID, "jti-0", System.currentTimeMillis() - 1);
+
+        assertFalse(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-1")));
+        assertNull(stringRedisTemplate.opsForHash().get(SESSION_KEY, SESSION_ID));
+    }
+
+    @Test
+    void logoutBlacklistsTokenAndSessionAndRemovesSession() {
+        saveSession(SESSION_ID, "refresh-0", System.currentTimeMillis() + 60_000);
+        saveSession("session-2", "refresh-1", System.currentTimeMillis() + 60_000);
+        VerifiedToken accessToken = accessToken("access-0", SESSION_ID);
+
+        redisTokenService.logout(USER_ID, accessToken, accessToken.getRemainingExpirationTime());
+
+        assertTrue(stringRedisTemplate.hasKey(RedisTokenService.BLACKLIST_PREFIX + "access-0"));
+        assertTrue(stringRedisTemplate.hasKey(RedisTokenService.SESSION_BLACKLIST_PREFIX + SESSION_ID));
+        assertNull(stringRedisTemplate.opsForHash().get(SESSION_KEY, SESSION_ID));
+        assertTrue(stringRedisTemplate.opsForHash().hasKey(SESSION_KEY, "session-2"));
+        // Aynı oturumdan verilmiş başka bir access token da reddedilir
+        assertTrue(redisTokenService.isTokenBlacklisted(accessToken("access-1", SESSION_ID)));
+        assertFalse(redisTokenService.isTokenBlacklisted(accessToken("access-2", "session-2")));
+    }
+
+    @Test
+    void revokeAllSessionsRemovesAndBlacklistsEverySession() {
+        saveSession(SESSION_ID, "refresh-0", System.currentTimeMillis() + 60_000);
+        saveSession("session-2", "refresh-1", System.currentTimeMillis() + 60_000);
+
+        redisTokenService.revokeAllSessions(USER_ID);
+
+        assertFalse(stringRedisTemplate.hasKey(SESSION_KEY));
+        assertTrue(redisTokenService.isTokenBlacklisted(accessToken("access-0", SESSION_ID)));
+        assertTrue(redisTokenService.isTokenBlacklisted(accessToken("access-1", "session-2")));
+    }
+
+    private void saveSession(String sessionId, String refreshTokenId, long expiresAt) {
+        redisTokenService.saveSession(USER_ID, new DeviceSession(sessionId, refreshTokenId, expiresAt, 42, "agent"));
+    }
+
+    private static IssuedToken refreshToken(String tokenId) {
+        return new IssuedToken("token-" + tokenId, tokenId, new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    private static VerifiedToken accessToken(String tokenId, String sessionId) {
+        Claims claims = Jwts.claims();
+        claims.setSubject(String.valueOf(USER_ID));
+        claims.setId(tokenId);
+        claims.setIssuedAt(new Date());
+        claims.setExpiration(new Date(System.currentTimeMillis() + ACCESS_EXPIRATION_MS));
+        claims.put(JwtTokenProvider.CLAIM_SESSION_ID, sessionId);
+        return new VerifiedToken("header." + tokenId + ".signature", claims);
+    }
+}
@@ -0,0 +1,141 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.exception.ServiceBusyException;
+import com.smartportfolio.security.IssuedToken;
+import com.smartportfolio.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresh token rotasyonu. Redis yerine rotate-refresh-token.lua ile aynı sözleşmeyi
+ * atomik olarak uygulayan bir script çalıştırıcı kullanılır.
+ */
+class RedisTokenServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String SESSION_ID = "session-1";
+
+    // Oturum hash'i: alan -> "jti|expiresAt|createdAt|userAgent"
+    private final Map<String, String> sessions = new HashMap<>();
+
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisTokenService redisTokenService;
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(new SimpleMeterRegistry(), 5, 10000, "open");
+        redisTokenService = new RedisTokenService(stringRedisTemplate, mock(VerifiedTokenCache.class),
+                mock(TokenBlacklistNearCache.class), circuitBreaker);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> rotate(invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4),
+                        invocation.getArgument(5), invocation.getArgument(7)));
+    }
+
+    @Test
+    void onlyOneConcurrentRotationOfSameTokenSucceeds() throws Exception {
+        sessions.put(SESSION_ID, "jti-0|" + (System.currentTimeMillis() + 60_000) + "|0|agent");
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 1; i <= threads; i++) {
+                IssuedToken next = refreshToken("jti-" + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", next);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    succeeded++;
+                }
+            }
+            assertEquals(1, succeeded);
+            assertFalse(sessions.get(SESSION_ID).startsWith("jti-0|"));
+            assertTrue(sessions.get(SESSION_ID).endsWith("|0|agent"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void replayedTokenIsRejectedAfterRotation() {
+        sessions.put(SESSION_ID, "jti-0|" + (System.currentTimeMillis() + 60_000) + "|0|agent");
+
+        assertTrue(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-1")));
+        assertFalse(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-2")));
+        assertTrue(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-1", refreshToken("jti-2")));
+    }
+
+    @Test
+    void expiredSessionIsNotRotated() {
+        sessions.put(SESSION_ID, "jti-0|" + (System.currentTimeMillis() - 1) + "|0|agent");
+
+        assertFalse(redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-1")));
+        assertFalse(sessions.containsKey(SESSION_ID));
+    }
+
+    @Test
+    void rotationFailsClosedWhenRedisIsUnavailable() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThrows(ServiceBusyException.class, () ->
+                redisTokenService.rotateRefreshToken(USER_ID, SESSION_ID, "jti-0", refreshToken("jti-1")));
+    }
+
+    /**
+     * rotate-refresh-token.lua ile aynı karşılaştır-ve-değiştir; Redis script'leri gibi atomik çalışır
+     */
+    private synchronized Long rotate(List<String> keys, String sessionId, String expectedTokenId,
+                                     String newTokenId, String newExpiresAt, String now) {
+        assertEquals(List.of("sessions:" + USER_ID), keys);
+        String current = sessions.get(sessionId);
+        if (current == null) {
+            return 0L;
+        }
+        String[] parts = current.split("\\|", 3);
+        if (Long.parseLong(parts[1]) < Long.parseLong(now)) {
+            sessions.remove(sessionId);
+            return 0L;
+        }
+        if (!parts[0].equals(expectedTokenId)) {
+            return 0L;
+        }
+        sessions.put(sessionId, newTokenId + "|" + newExpiresAt + "|" + parts[2]);
+        return 1L;
+    }
+
+    private static IssuedToken refreshToken(String tokenId) {
+        return new IssuedToken("token-" + tokenId, tokenId, new Date(System.currentTimeMillis() + 60_000));
+    }
+}
@@ -0,0 +1,167 @@
+package com.smartportfolio.service;
+
+import com.smartportfolio.dto.SearchResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchIndexTest {
+
+    private final List<Map<String, Object>> blogs = new ArrayList<>();
+    private final List<Map<String, Object>> projects = new ArrayList<>();
+    private final List<Map<String, Object>> skills = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowMapper<Object> rowMapper = invocation.getArgument(1);
+            List<Map<String, Object>> rows = sql.contains("FROM blogs") ? blogs
+                    : sql.contains("FROM projects") ? projects : skills;
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                mapped.add(rowMapper.mapRow(resultSet(rows.get(i)), i));
+            }
+            return mapped;
+        });
+    }
+
+    @Test
+    void titleMatchRanksAboveBodyMatch() {
+        blog(1, "Günlük notlar", "Haftalık notlar", "Bu hafta spring ile çalıştım");
+        blog(2, "Spring rehberi", "Haftalık notlar", "Bu hafta yeni şeyler öğrendim");
+
+        assertEquals(List.of(2L, 1L), ids(index(50).search("spring", List.of(), 10)));
+    }
+
+    @Test
+    void exactMatchRanksAbovePrefixMatch() {
+        project(1, "Projeler", "Kişisel çalışma");
+        project(2, "Proje", "Kişisel çalışma");
+
+        assertEquals(List.of(2L, 1L), ids(index(50).search("proje", List.of(), 10)));
+    }
+
+    @Test
+    void shorterDocumentRanksAboveLongerDocumentWithSameFrequency() {
+        project(1, "Kafka", "kafka tüketicisi, yeniden deneme kuyruğu, izleme panosu ve uyarılar");
+        project(2, "Kafka", "kafka tüketicisi");
+
+        assertEquals(List.of(2L, 1L), ids(index(50).search("kafka", List.of(), 10)));
+    }
+
+    @Test
+    void matchesAcrossTurkishFolding() {
+        blog(1, "İstanbul Şirketleri", null, "Mühendislik kültürü");
+
+        assertEquals(List.of(1L), ids(index(50).search("istanbul sirket", List.of(), 10)));
+        assertEquals(List.of(1L), ids(index(50).search("MÜHENDİSLİK", List.of(), 10)));
+    }
+
+    @Test
+    void filtersByType() {
+        blog(1, "Docker notları", null, "Konteyner");
+        project(2, "Docker altyapısı", "Konteyner");
+        skill(3, "Docker", "DevOps");
+
+        assertEquals(List.of(2L), index(50).searchIds(SearchIndex.PROJECT, "docker"));
+    }
+
+    @Test
+    void prefixExpansionLimitKeepsExactMatch() {
+        project(1, "Proje", "a");
+        project(2, "Projeler", "b");
+        project(3, "Projelerimiz", "c");
+
+        assertEquals(List.of(1L, 2L), ids(index(1).search("proje", List.of(), 10)));
+        assertEquals(List.of(1L), ids(index(0).search("proje", List.of(), 10)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ignoresOwnRefreshEventsButAppliesOthers() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(7L))).thenReturn(List.of());
+        SearchIndex index = index(50);
+
+        index.refresh(SearchIndex.PROJECT, 7L);
+        ArgumentCaptor<String> event = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(SearchIndex.CHANNEL), event.capture());
+
+        index.onMessage(message(event.getValue()), null);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq(7L));
+
+        index.onMessage(message("other-node " + SearchIndex.PROJECT + ":7"), null);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq(7L));
+    }
+
+    private SearchIndex index(int maxPrefixExpansions) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(new SimpleMeterRegistry(), 5, 10000, "open");
+        SearchIndex index = new SearchIndex(jdbcTemplate, stringRedisTemplate, circuitBreaker, maxPrefixExpansions);
+        index.rebuild();
+        return index;
+    }
+
+    private void blog(long id, String title, String summary, String content) {
+        blogs.add(row("id", id, "title", title, "summary", summary, "content", content));
+    }
+
+    private void project(long id, String title, String description) {
+        projects.add(row("id", id, "title", title, "description", description));
+    }
+
+    private void skill(long id, String name, String category) {
+        skills.add(row("id", id, "name", name, "category", category));
+    }
+
+    private static Map<String, Object> row(Object... columns) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < columns.length; i += 2) {
+            row.put((String) columns[i], columns[i + 1]);
+        }
+        return row;
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(anyString())).thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        when(rs.getString(anyString())).thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        return rs;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(SearchIndex.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(List<SearchResultDto> results) {
+        return results.stream().map(SearchResultDto::getId).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.smartportfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TurkishTokenizerTest {
+
+    @Test
+    void foldsDottedAndDotlessI() {
+        assertEquals(List.of("istanbul", "isparta", "ilik"), TurkishTokenizer.tokenize("İSTANBUL ISPARTA ılık"));
+    }
+
+    @Test
+    void foldsTurkishCharactersToAscii() {
+        assertEquals(List.of("sirket", "sirket", "sirket"), TurkishTokenizer.tokenize("Şirket şirket sirket"));
+        assertEquals(List.of("gucluk", "coz"), TurkishTokenizer.tokenize("Güçlük çöz"));
+    }
+
+    @Test
+    void dropsStopWordsAndSingleLetters() {
+        assertEquals(List.of("5", "proje"), TurkishTokenizer.tokenize("ve a 5 bu proje için"));
+    }
+
+    @Test
+    void splitsOnNonAlphanumericCharacters() {
+        assertEquals(List.of("spring", "boot", "java17"), TurkishTokenizer.tokenize("Spring-Boot, (Java17)!"));
+    }
+
+    @Test
+    void handlesEmptyInput() {
+        assertTrue(TurkishTokenizer.tokenize(null).isEmpty());
+        assertTrue(TurkishTokenizer.tokenize("").isEmpty());
+        assertEquals("", TurkishTokenizer.normalize(null));
+    }
+
+    @Test
+    void normalizeCollapsesSeparatorsToSingleSpace() {
+        assertEquals("spring boot", TurkishTokenizer.normalize("  Spring--Boot! "));
+        assertEquals("ic mimari", TurkishTokenizer.normalize("İç Mimarı"));
+    }
+}
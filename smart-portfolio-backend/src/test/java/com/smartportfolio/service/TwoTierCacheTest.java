@@ -0,0 +1,121 @@
+package com.smartportfolio.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartportfolio.dto.BlogSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * İki katmanlı önbelleği gömülü Redis ile çalıştırır
+ */
+class TwoTierCacheTest {
+
+    private static final String KEY = "blogs:top";
+    private static final TypeReference<List<BlogSummaryDto>> TYPE = new TypeReference<>() {
+    };
+
+    private static RedisServer redisServer;
+    private static int port;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void callersGetIndependentCopies() {
+        TwoTierCache cache = cache();
+
+        List<BlogSummaryDto> first = cache.get(KEY, TYPE, this::load);
+        first.get(0).setViewCount(first.get(0).getViewCount() + 100);
+        List<BlogSummaryDto> second = cache.get(KEY, TYPE, this::load);
+
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals(5L, second.get(0).getViewCount());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("public.cache.gets", "cache", "blogs", "result", "l1").count());
+    }
+
+    @Test
+    void otherNodeReadsValueFromRedis() {
+        cache().get(KEY, TYPE, this::load);
+
+        List<BlogSummaryDto> fromRemote = cache().get(KEY, TYPE, this::load);
+
+        assertEquals(5L, fromRemote.get(0).getViewCount());
+        assertEquals(1, loads.get());
+        assertFalse(stringRedisTemplate.hasKey("cache:lock:" + KEY));
+    }
+
+    @Test
+    void loadEvictedWhileRunningIsNotWrittenToRedis() {
+        TwoTierCache cache = cache();
+
+        // Başka bir node yükleme sürerken kaydı düşürür; kilit de silinir
+        cache.get(KEY, TYPE, () -> {
+            stringRedisTemplate.delete("cache:lock:" + KEY);
+            return load();
+        });
+
+        assertFalse(stringRedisTemplate.hasKey("cache:value:" + KEY));
+        assertTrue(meterRegistry.find("public.cache.gets").tag("result", "miss").counter().count() > 0);
+    }
+
+    private TwoTierCache cache() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(meterRegistry, 5, 10000, "open");
+        return new TwoTierCache(stringRedisTemplate, circuitBreaker, new ObjectMapper().findAndRegisterModules(),
+                meterRegistry, true, 100, 60_000, 600_000, 5_000, 1_000, 5_000);
+    }
+
+    private List<BlogSummaryDto> load() {
+        loads.incrementAndGet();
+        return List.of(new BlogSummaryDto(1L, "Başlık", "Özet", null, 5L, LocalDateTime.now(), null));
+    }
+}
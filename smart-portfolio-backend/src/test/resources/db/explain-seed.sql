@@ -0,0 +1,31 @@
+-- EXPLAIN kontrolleri için örnek veri. Filtrelenen satırlar az olsun diye kayıtların
+-- yalnızca onda biri aktif/yayında; böylece optimizer indeks ile tam tarama arasında
+-- gerçekçi bir seçim yapar. Sabit ID'ler ve INSERT IGNORE ile tekrar çalıştırılabilir.
+INSERT IGNORE INTO users (id, username, email, password, is_active, is_email_verified, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT n, CONCAT('user', n), CONCAT('user', n, '@example.com'), 'x', n % 10 = 0, 1,
+       TIMESTAMP('2024-01-01') + INTERVAL n MINUTE
+FROM seq;
+
+INSERT IGNORE INTO projects (id, title, is_active, is_featured, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT n, CONCAT('Proje ', n), n % 10 = 0, n % 20 = 0, TIMESTAMP('2024-01-01') + INTERVAL n MINUTE
+FROM seq;
+
+INSERT IGNORE INTO blogs (id, title, content, is_published, view_count, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT n, CONCAT('Blog ', n), 'İçerik', n % 10 = 0, n * 7 % 1000, TIMESTAMP('2024-01-01') + INTERVAL n MINUTE
+FROM seq;
+
+INSERT IGNORE INTO skills (id, name, level, is_active, sort_order, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT n, CONCAT('Beceri ', n), n % 5 + 1, n % 10 = 0, n % 50, TIMESTAMP('2024-01-01') + INTERVAL n MINUTE
+FROM seq;
+
+INSERT IGNORE INTO languages (id, code, name, is_active, is_default, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT n, LPAD(LOWER(CONV(n, 10, 36)), 2, '0'), CONCAT('Dil ', n), n % 10 = 0, n = 10,
+       TIMESTAMP('2024-01-01') + INTERVAL n MINUTE
+FROM seq;
+
+ANALYZE TABLE users, projects, blogs, skills, languages;